@@ -0,0 +1,113 @@
+package com.hotel.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cached GET responses shared by every route using the ResponseCache filter. Entries are keyed by
+ * route first, so a write through a route, or a change event for the resource type it serves,
+ * drops all of that route's entries. A per-route generation stops responses that were in flight
+ * during an invalidation from being stored afterwards.
+ */
+@Component
+public class GatewayResponseCache {
+
+    private final Cache<String, CachedResponse> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> routesByResourceType = new ConcurrentHashMap<>();
+    private final int maxBodyBytes;
+
+    public GatewayResponseCache(@Value("${gateway.response-cache.max-entries:2000}") long maxEntries,
+                                @Value("${gateway.response-cache.max-body-bytes:262144}") int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return response.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public static String key(String routeId, String roles, String pathAndQuery) {
+        return routeId + "\n" + roles + "\n" + pathAndQuery;
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public long generation(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong()).get();
+    }
+
+    public boolean fits(int bodyBytes) {
+        return bodyBytes <= maxBodyBytes;
+    }
+
+    /**
+     * Stores the response unless the route was invalidated after {@code generation} was read.
+     */
+    public void put(String routeId, long generation, String key, CachedResponse response) {
+        if (generation(routeId) != generation) {
+            return;
+        }
+        entries.put(key, response);
+        // An invalidation may have run between the check and the put
+        if (generation(routeId) != generation) {
+            entries.invalidate(key);
+        }
+    }
+
+    public void bind(String resourceType, String routeId) {
+        routesByResourceType.computeIfAbsent(resourceType, type -> ConcurrentHashMap.newKeySet()).add(routeId);
+    }
+
+    public void invalidateRoute(String routeId) {
+        generations.computeIfAbsent(routeId, id -> new AtomicLong()).incrementAndGet();
+        String prefix = routeId + "\n";
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void invalidateResourceType(String resourceType) {
+        routesByResourceType.getOrDefault(resourceType, Set.of()).forEach(this::invalidateRoute);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = entries.stats();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("entries", entries.estimatedSize());
+        snapshot.put("hits", stats.hitCount());
+        snapshot.put("misses", stats.missCount());
+        snapshot.put("hitRate", stats.hitRate());
+        snapshot.put("evictions", stats.evictionCount());
+        return snapshot;
+    }
+
+    public record CachedResponse(MediaType contentType, byte[] body, String etag, long ttlNanos) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.gateway.controller;
+
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Target of each route's CircuitBreaker fallbackUri. Answers immediately while a service is
+ * failing or its breaker is open, instead of holding the client and a pooled connection.
+ */
+@RestController
+public class FallbackController {
+
+    @RequestMapping("/fallback/{service}")
+    public ResponseEntity<Map<String, Object>> fallback(@PathVariable String service, ServerWebExchange exchange) {
+        Throwable failure = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        boolean timedOut = failure instanceof TimeoutException || (failure != null && failure.getCause() instanceof TimeoutException);
+        HttpStatus status = timedOut ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.SERVICE_UNAVAILABLE;
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", false);
+        response.put("errorCode", timedOut ? "UPSTREAM_TIMEOUT" : "SERVICE_UNAVAILABLE");
+        response.put("message", timedOut
+                ? service + " did not respond in time"
+                : service + " is temporarily unavailable, please retry shortly");
+        response.put("service", service);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.gateway.controller;
+
+import com.hotel.gateway.cache.GatewayResponseCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/cache")
+public class ResponseCacheController {
+
+    private final GatewayResponseCache responseCache;
+
+    public ResponseCacheController(GatewayResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    // Receives change events pushed by rooms-service for writes that did not pass through the gateway
+    @PostMapping("/invalidate")
+    public ResponseEntity<Void> invalidate(@RequestBody ResourceChangedEvent event) {
+        if (event.resourceType() != null) {
+            responseCache.invalidateResourceType(event.resourceType());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(responseCache.stats());
+    }
+
+    // Mirrors com.hotel.common.event.ResourceChangedEvent
+    record ResourceChangedEvent(String resourceType, Long resourceId, String changeType) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.gateway.controller;
+
+import com.hotel.gateway.metrics.RouteLatencyMetrics;
+import com.hotel.gateway.ratelimit.LocalTokenBucketRateLimiter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/routes")
+public class RouteMetricsController {
+
+    private final RouteLatencyMetrics routeLatencyMetrics;
+    private final LocalTokenBucketRateLimiter rateLimiter;
+
+    public RouteMetricsController(RouteLatencyMetrics routeLatencyMetrics, LocalTokenBucketRateLimiter rateLimiter) {
+        this.routeLatencyMetrics = routeLatencyMetrics;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @GetMapping("/latency")
+    public ResponseEntity<Map<String, Object>> getLatency() {
+        return ResponseEntity.ok(routeLatencyMetrics.snapshot());
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimits() {
+        return ResponseEntity.ok(rateLimiter.snapshot());
+    }
+}
@@ -0,0 +1,54 @@
+package com.hotel.gateway.filter;
+
+import com.hotel.gateway.security.IdentityHeaderSigner;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Guards every endpoint the gateway serves itself under /internal (response cache invalidation and
+ * stats, route latency and rate-limit metrics). They are not routed, so JwtAuthenticationGlobalFilter
+ * never sees them; only callers presenting a fresh signed service identity (ROLE_SERVICE) get through.
+ */
+@Component
+public class InternalEndpointWebFilter implements WebFilter, Ordered {
+
+    static final String INTERNAL_PATH_PREFIX = "/internal/";
+
+    private final IdentityHeaderSigner headerSigner;
+
+    public InternalEndpointWebFilter(IdentityHeaderSigner headerSigner) {
+        this.headerSigner = headerSigner;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!request.getPath().value().startsWith(INTERNAL_PATH_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        List<String> roles = headerSigner.verifiedRoles(request);
+        if (roles == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        if (!roles.contains(IdentityHeaderSigner.SERVICE_ROLE)) {
+            exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+}
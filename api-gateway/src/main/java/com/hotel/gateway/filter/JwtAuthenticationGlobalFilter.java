@@ -0,0 +1,111 @@
+package com.hotel.gateway.filter;
+
+import com.hotel.gateway.security.GatewayJwtVerifier;
+import com.hotel.gateway.security.IdentityHeaderSigner;
+import com.hotel.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Verifies the bearer token once at the edge. Requests without a valid token are rejected here
+ * unless the path is public; verified requests are forwarded with signed identity headers so
+ * services can skip JWT verification. Anonymous requests to public paths carry the gateway's own
+ * signed identity (no roles), so services can tell they came through the gateway, e.g. to trust
+ * X-Forwarded-For. Client-supplied identity headers are always stripped.
+ */
+@Component
+public class JwtAuthenticationGlobalFilter implements GlobalFilter, Ordered {
+
+    private final GatewayJwtVerifier jwtVerifier;
+    private final IdentityHeaderSigner headerSigner;
+    private final List<String> publicPaths;
+    private final String gatewayUsername;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public JwtAuthenticationGlobalFilter(GatewayJwtVerifier jwtVerifier, IdentityHeaderSigner headerSigner,
+                                         @Value("${gateway.auth.public-paths:/api/auth/login,/api/auth/register}")
+                                         List<String> publicPaths,
+                                         @Value("${spring.application.name:api-gateway}") String applicationName) {
+        this.jwtVerifier = jwtVerifier;
+        this.headerSigner = headerSigner;
+        this.publicPaths = publicPaths;
+        this.gatewayUsername = "service:" + applicationName;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        boolean isPublic = request.getMethod() == HttpMethod.OPTIONS || isPublicPath(request.getPath().value());
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        Claims claims = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                claims = jwtVerifier.verify(authHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException ex) {
+                claims = null;
+            }
+        }
+
+        if (claims == null || claims.getSubject() == null) {
+            if (!isPublic) {
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange.mutate().request(withIdentity(request, gatewayUsername, "", "")).build());
+        }
+
+        Long uid = JwtVerifier.userId(claims);
+        String userId = uid != null ? uid.toString() : "";
+        String roles = String.join(",", JwtVerifier.roles(claims));
+        return chain.filter(exchange.mutate().request(withIdentity(request, claims.getSubject(), userId, roles)).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    private boolean isPublicPath(String path) {
+        return publicPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern.trim(), path));
+    }
+
+    private ServerHttpRequest withIdentity(ServerHttpRequest request, String username, String userId, String roles) {
+        long issuedAt = System.currentTimeMillis();
+        String signature = headerSigner.sign(username, userId, roles, issuedAt,
+                request.getMethod().name(), request.getPath().value());
+        return stripIdentity(request).mutate()
+                .header(IdentityHeaderSigner.USER_HEADER, username)
+                .header(IdentityHeaderSigner.USER_ID_HEADER, userId)
+                .header(IdentityHeaderSigner.ROLES_HEADER, roles)
+                .header(IdentityHeaderSigner.ISSUED_AT_HEADER, Long.toString(issuedAt))
+                .header(IdentityHeaderSigner.SIGNATURE_HEADER, signature)
+                .build();
+    }
+
+    private ServerHttpRequest stripIdentity(ServerHttpRequest request) {
+        return request.mutate()
+                .headers(headers -> {
+                    headers.remove(IdentityHeaderSigner.USER_HEADER);
+                    headers.remove(IdentityHeaderSigner.USER_ID_HEADER);
+                    headers.remove(IdentityHeaderSigner.ROLES_HEADER);
+                    headers.remove(IdentityHeaderSigner.ISSUED_AT_HEADER);
+                    headers.remove(IdentityHeaderSigner.SIGNATURE_HEADER);
+                })
+                .build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.hotel.gateway.filter;
+
+import com.hotel.gateway.cache.GatewayResponseCache;
+import com.hotel.gateway.cache.GatewayResponseCache.CachedResponse;
+import com.hotel.gateway.security.IdentityHeaderSigner;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Serves repeat GETs on a route from {@link GatewayResponseCache}, keyed by path, query and the
+ * caller's roles, with ETag / If-None-Match revalidation. Any write through the route
+ * invalidates it. Runs just outside NettyWriteResponseFilter so it sees the body the backend wrote,
+ * and after authentication so only verified callers reach the cache. That order puts it ahead of the
+ * route's other filters whatever their position in the route, so hits skip RequestRateLimiter and
+ * CircuitBreaker: they are not rate-limited and do not count as calls to the service.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final GatewayResponseCache cache;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheGatewayFilterFactory(GatewayResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            ServerHttpRequest request = exchange.getRequest();
+            if (route == null || request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS) {
+                return chain.filter(exchange);
+            }
+            String routeId = route.getId();
+            if (config.getInvalidatedBy() != null) {
+                cache.bind(config.getInvalidatedBy(), routeId);
+            }
+
+            if (request.getMethod() != HttpMethod.GET) {
+                // Before, so in-flight reads are not stored; after, to drop anything read meanwhile
+                cache.invalidateRoute(routeId);
+                return chain.filter(exchange).doFinally(signal -> cache.invalidateRoute(routeId));
+            }
+            if (isBypassed(config, request.getPath().value())) {
+                return chain.filter(exchange);
+            }
+
+            String key = GatewayResponseCache.key(routeId, roles(request), pathAndQuery(request));
+            String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                return writeCached(exchange.getResponse(), cached, ifNoneMatch);
+            }
+
+            long generation = cache.generation(routeId);
+            ServerHttpResponse response = new CachingResponse(exchange.getResponse(), ifNoneMatch, config.getTtl(),
+                    fresh -> cache.put(routeId, generation, key, fresh));
+            return chain.filter(exchange.mutate().response(response).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private boolean isBypassed(Config config, String path) {
+        return config.getBypassPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern.trim(), path));
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, String ifNoneMatch) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        if (etagMatches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.setContentType(cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // Roles come from the signed identity headers set by JwtAuthenticationGlobalFilter; anonymous callers share ""
+    private static String roles(ServerHttpRequest request) {
+        String roles = request.getHeaders().getFirst(IdentityHeaderSigner.ROLES_HEADER);
+        if (roles == null || roles.isEmpty()) {
+            return "";
+        }
+        return Arrays.stream(roles.split(",")).map(String::trim).sorted().collect(Collectors.joining(","));
+    }
+
+    // Query parameters are sorted so ?a=1&b=2 and ?b=2&a=1 share an entry
+    private static String pathAndQuery(ServerHttpRequest request) {
+        Map<String, List<String>> params = new TreeMap<>(request.getQueryParams());
+        if (params.isEmpty()) {
+            return request.getPath().value();
+        }
+        return request.getPath().value() + "?" + params.entrySet().stream()
+                .flatMap(param -> param.getValue().stream().map(value -> param.getKey() + "=" + value))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Buffers a 200 response body to tag it, store it and answer 304 when the client already has it.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String ifNoneMatch;
+        private final Duration ttl;
+        private final Consumer<CachedResponse> store;
+
+        CachingResponse(ServerHttpResponse delegate, String ifNoneMatch, Duration ttl, Consumer<CachedResponse> store) {
+            super(delegate);
+            this.ifNoneMatch = ifNoneMatch;
+            this.ttl = ttl;
+            this.store = store;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || status.value() != HttpStatus.OK.value()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body))
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        String etag = etag(bytes);
+                        HttpHeaders headers = getHeaders();
+                        if (cache.fits(bytes.length)) {
+                            store.accept(new CachedResponse(headers.getContentType(), bytes, etag, ttl.toNanos()));
+                        }
+                        headers.setETag(etag);
+                        headers.setCacheControl(CACHE_CONTROL);
+                        headers.remove(HttpHeaders.PRAGMA);
+                        headers.remove(HttpHeaders.EXPIRES);
+                        headers.set(CACHE_STATUS_HEADER, "MISS");
+                        if (etagMatches(ifNoneMatch, etag)) {
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            headers.remove(HttpHeaders.CONTENT_LENGTH);
+                            return getDelegate().setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofSeconds(60);
+
+        // Resource type in change events (e.g. ROOM) that should also invalidate the route
+        private String invalidatedBy;
+
+        // GETs that must always reach the backend, e.g. results that depend on another service's data
+        private List<String> bypassPaths = List.of();
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public String getInvalidatedBy() {
+            return invalidatedBy;
+        }
+
+        public void setInvalidatedBy(String invalidatedBy) {
+            this.invalidatedBy = invalidatedBy;
+        }
+
+        public List<String> getBypassPaths() {
+            return bypassPaths;
+        }
+
+        public void setBypassPaths(List<String> bypassPaths) {
+            this.bypassPaths = bypassPaths;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.hotel.gateway.filter;
+
+import com.hotel.gateway.metrics.RouteLatencyMetrics;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every routed request end to end, including authentication, retries and circuit-breaker
+ * fallbacks, and records it against the route id.
+ */
+@Component
+public class RouteLatencyGlobalFilter implements GlobalFilter, Ordered {
+
+    private final RouteLatencyMetrics metrics;
+
+    public RouteLatencyGlobalFilter(RouteLatencyMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long started = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            metrics.record(route != null ? route.getId() : "unmatched",
+                    (System.nanoTime() - started) / 1_000_000,
+                    status == null || status.is5xxServerError());
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
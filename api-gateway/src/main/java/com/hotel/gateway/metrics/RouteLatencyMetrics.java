@@ -0,0 +1,102 @@
+package com.hotel.gateway.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route latency histograms with fixed bucket bounds. Recording is a couple of LongAdder
+ * increments; percentiles are reported as the upper bound of the bucket they fall in.
+ */
+@Component
+public class RouteLatencyMetrics {
+
+    // Upper bounds in ms; the last bucket catches everything slower
+    private static final long[] BUCKET_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final Map<String, Histogram> routes = new ConcurrentHashMap<>();
+
+    public void record(String routeId, long elapsedMs, boolean serverError) {
+        routes.computeIfAbsent(routeId, id -> new Histogram()).record(elapsedMs, serverError);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        routes.forEach((routeId, histogram) -> snapshot.put(routeId, histogram.snapshot()));
+        return snapshot;
+    }
+
+    private static final class Histogram {
+
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAccumulator maxMs = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsedMs, boolean serverError) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && elapsedMs > BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            totalMs.add(elapsedMs);
+            maxMs.accumulate(elapsedMs);
+            if (serverError) {
+                serverErrors.increment();
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            long[] counts = new long[buckets.length];
+            long total = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                histogram.put(i < BUCKET_BOUNDS_MS.length ? "le_" + BUCKET_BOUNDS_MS[i] : "gt_" + BUCKET_BOUNDS_MS[i - 1], counts[i]);
+            }
+
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", count.sum());
+            snapshot.put("serverErrors", serverErrors.sum());
+            snapshot.put("meanMs", total == 0 ? 0.0 : (double) totalMs.sum() / total);
+            snapshot.put("maxMs", maxMs.get());
+            snapshot.put("p50Ms", percentile(counts, total, 0.50));
+            snapshot.put("p95Ms", percentile(counts, total, 0.95));
+            snapshot.put("p99Ms", percentile(counts, total, 0.99));
+            snapshot.put("histogram", histogram);
+            return snapshot;
+        }
+
+        private long percentile(long[] counts, long total, double quantile) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : maxMs.get();
+                }
+            }
+            return maxMs.get();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotel.gateway.ratelimit;
+
+import com.hotel.gateway.security.IdentityHeaderSigner;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Rate-limit key for RequestRateLimiter: the verified user and roles from the identity headers
+ * JwtAuthenticationGlobalFilter has already set, or the client address for anonymous requests.
+ * The limiter adds the route id, so each user gets separate buckets per route.
+ */
+@Component
+public class IdentityKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String username = headers.getFirst(IdentityHeaderSigner.USER_HEADER);
+        if (username != null && !username.isEmpty()) {
+            String roles = headers.getFirst(IdentityHeaderSigner.ROLES_HEADER);
+            return Mono.just("user:" + username + "|" + (roles != null ? roles : ""));
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        String clientIp = remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+        return Mono.just("ip:" + clientIp);
+    }
+}
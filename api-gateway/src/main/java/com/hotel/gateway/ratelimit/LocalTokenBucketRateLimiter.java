@@ -0,0 +1,147 @@
+package com.hotel.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process token buckets for RequestRateLimiter, so the gateway needs no Redis. Each bucket is a
+ * single AtomicLong holding the time at which it will be full again (the GCRA form of a token
+ * bucket) and is updated with a CAS loop. Limits are per gateway instance and are set per route
+ * with {@code local-rate-limiter.*} filter args.
+ */
+@Component
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Config defaultConfig;
+    private final Cache<String, AtomicLong> buckets;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public LocalTokenBucketRateLimiter(ConfigurationService configurationService,
+                                       @Value("${gateway.rate-limit.default-replenish-rate:20}") int defaultReplenishRate,
+                                       @Value("${gateway.rate-limit.default-burst-capacity:40}") int defaultBurstCapacity,
+                                       @Value("${gateway.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config();
+        this.defaultConfig.setReplenishRate(defaultReplenishRate);
+        this.defaultConfig.setBurstCapacity(defaultBurstCapacity);
+        // An idle bucket refills completely within burst / rate seconds, so dropping it loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        int replenishRate = Math.max(config.getReplenishRate(), 1);
+        int burstCapacity = Math.max(config.getBurstCapacity(), 1);
+        int requestedTokens = Math.max(config.getRequestedTokens(), 1);
+
+        long interval = NANOS_PER_SECOND / replenishRate;
+        long cost = interval * requestedTokens;
+        long capacity = interval * burstCapacity;
+
+        long now = System.nanoTime();
+        AtomicLong fullAt = buckets.get(routeId + "|" + id, key -> new AtomicLong(now));
+        long current;
+        long next;
+        boolean allowed;
+        do {
+            current = fullAt.get();
+            next = (current - now > 0 ? current : now) + cost;
+            allowed = next - now <= capacity;
+        } while (allowed && !fullAt.compareAndSet(current, next));
+
+        long backlog = allowed ? next - now : Math.max(current - now, 0);
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-RateLimit-Remaining", Long.toString(Math.max(capacity - backlog, 0) / interval));
+        headers.put("X-RateLimit-Replenish-Rate", Integer.toString(replenishRate));
+        headers.put("X-RateLimit-Burst-Capacity", Integer.toString(burstCapacity));
+        Counters routeCounters = counters.computeIfAbsent(routeId, route -> new Counters());
+        if (allowed) {
+            routeCounters.allowed.increment();
+        } else {
+            routeCounters.throttled.increment();
+            long waitNanos = next - now - capacity;
+            headers.put(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND)));
+        }
+        return Mono.just(new Response(allowed, headers));
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((routeId, routeCounters) -> {
+            Config config = getConfig().getOrDefault(routeId, defaultConfig);
+            Map<String, Object> route = new LinkedHashMap<>();
+            route.put("allowed", routeCounters.allowed.sum());
+            route.put("throttled", routeCounters.throttled.sum());
+            route.put("replenishRate", config.getReplenishRate());
+            route.put("burstCapacity", config.getBurstCapacity());
+            snapshot.put(routeId, route);
+        });
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("trackedKeys", buckets.estimatedSize());
+        result.put("routes", snapshot);
+        return result;
+    }
+
+    private static final class Counters {
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+    }
+
+    public static class Config {
+
+        // Tokens added per second
+        private int replenishRate = 20;
+
+        // Bucket size, i.e. the largest burst allowed after a quiet period
+        private int burstCapacity = 40;
+
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.hotel.gateway.security;
+
+import com.hotel.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies JWTs issued by auth-service with the same secret, through the {@link JwtVerifier} the
+ * services' JwtUtils uses.
+ */
+@Component
+public class GatewayJwtVerifier {
+
+    @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
+    private String secretKey;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private final GatewayRevocationList revocationList;
+
+    private JwtVerifier verifier;
+
+    public GatewayJwtVerifier(GatewayRevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @PostConstruct
+    void init() {
+        verifier = new JwtVerifier(secretKey, verifiedCacheMaxSize, revocationList);
+    }
+
+    /**
+     * Returns the verified claims. Throws a JwtException if the token is malformed, tampered with, expired or revoked.
+     */
+    public Claims verify(String token) {
+        return verifier.verify(token);
+    }
+}
@@ -0,0 +1,63 @@
+package com.hotel.gateway.security;
+
+import com.hotel.security.RevocationFeed;
+import com.hotel.security.RevocationList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * The gateway's revocation list, pulling the same auth-service feed with WebClient. The sync runs on
+ * its own thread, so blocking there never touches the event loop. The feed is a service-only
+ * endpoint, so each pull carries a freshly signed gateway service identity.
+ */
+@Component
+public class GatewayRevocationList extends RevocationList {
+
+    private final WebClient webClient = WebClient.create();
+    private final IdentityHeaderSigner headerSigner;
+    private final String serviceUsername;
+
+    public GatewayRevocationList(IdentityHeaderSigner headerSigner,
+                                 @Value("${spring.application.name:api-gateway}") String applicationName,
+                                 @Value("${jwt.revocation.sync-url:}") String syncUrl,
+                                 @Value("${jwt.revocation.sync-interval-ms:5000}") long syncIntervalMs) {
+        super(syncUrl, syncIntervalMs);
+        this.headerSigner = headerSigner;
+        this.serviceUsername = "service:" + applicationName;
+    }
+
+    @PostConstruct
+    @Override
+    public void start() {
+        super.start();
+    }
+
+    @PreDestroy
+    @Override
+    public void stop() {
+        super.stop();
+    }
+
+    @Override
+    protected RevocationFeed fetch(long since) {
+        long issuedAt = System.currentTimeMillis();
+        String signature = headerSigner.sign(serviceUsername, "", IdentityHeaderSigner.SERVICE_ROLE, issuedAt,
+                "GET", URI.create(syncUrl()).getRawPath());
+        return webClient.get()
+                .uri(syncUrl() + "?since={since}", since)
+                .header(IdentityHeaderSigner.USER_HEADER, serviceUsername)
+                .header(IdentityHeaderSigner.USER_ID_HEADER, "")
+                .header(IdentityHeaderSigner.ROLES_HEADER, IdentityHeaderSigner.SERVICE_ROLE)
+                .header(IdentityHeaderSigner.ISSUED_AT_HEADER, String.valueOf(issuedAt))
+                .header(IdentityHeaderSigner.SIGNATURE_HEADER, signature)
+                .retrieve()
+                .bodyToMono(RevocationFeed.class)
+                .block(Duration.ofMillis(Math.max(syncIntervalMs(), 1000)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotel.gateway.security;
+
+import com.hotel.security.IdentitySignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Signs the identity headers forwarded to services and checks the ones services send to the gateway's
+ * internal endpoints, with the same {@link IdentitySignature} the services' GatewayIdentityVerifier
+ * uses. Routes forward paths unchanged, so both sides sign the same path.
+ */
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String USER_HEADER = IdentitySignature.USER_HEADER;
+    public static final String USER_ID_HEADER = IdentitySignature.USER_ID_HEADER;
+    public static final String ROLES_HEADER = IdentitySignature.ROLES_HEADER;
+    public static final String ISSUED_AT_HEADER = IdentitySignature.ISSUED_AT_HEADER;
+    public static final String SIGNATURE_HEADER = IdentitySignature.SIGNATURE_HEADER;
+    public static final String SERVICE_ROLE = IdentitySignature.SERVICE_ROLE;
+
+    private final IdentitySignature signature;
+
+    public IdentityHeaderSigner(@Value("${gateway.identity.secret}") String secret,
+                                @Value("${gateway.identity.max-age-ms:30000}") long maxAgeMs) {
+        this.signature = new IdentitySignature(secret, maxAgeMs);
+    }
+
+    public String sign(String username, String userId, String roles, long issuedAt, String method, String path) {
+        return signature.sign(username, userId, roles, issuedAt, method, path);
+    }
+
+    /**
+     * Returns the roles of a valid, fresh set of identity headers, otherwise null.
+     */
+    public List<String> verifiedRoles(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        IdentitySignature.Identity identity = signature.verify(headers.getFirst(USER_HEADER),
+                headers.getFirst(USER_ID_HEADER), headers.getFirst(ROLES_HEADER), headers.getFirst(ISSUED_AT_HEADER),
+                headers.getFirst(SIGNATURE_HEADER), request.getMethod().name(), request.getPath().value());
+        return identity != null ? identity.roles() : null;
+    }
+}
@@ -2,21 +2,26 @@ package com.hotel.auth.controller;
 
 import com.hotel.auth.dto.AuthResponseDTO;
 import com.hotel.auth.dto.LoginRequestDTO;
+import com.hotel.auth.dto.RefreshTokenRequestDTO;
 import com.hotel.auth.dto.RegisterRequestDTO;
 import com.hotel.auth.dto.StaffRequestDTO;
 import com.hotel.auth.model.User;
 import com.hotel.auth.service.AuthService;
 import com.hotel.common.exception.UserAlreadyExistsException;
 import com.hotel.common.exception.ResourceNotFoundException;
+import com.hotel.common.security.GatewayIdentityVerifier;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -25,9 +30,11 @@ public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     private final AuthService authService;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, GatewayIdentityVerifier gatewayIdentityVerifier) {
         this.authService = authService;
+        this.gatewayIdentityVerifier = gatewayIdentityVerifier;
     }
 
     @PostMapping("/register")
@@ -36,11 +43,29 @@ public class AuthController {
         return new ResponseEntity<>(authService.register(request), HttpStatus.CREATED);
     }
 
+    // Completes on the hashing pool; the request thread is released while the password is checked
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO request) {
-        AuthResponseDTO response = authService.login(request);
-        logger.info("User logged in: username={}, role={}", response.getUsername(), response.getRole());
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> login(@Valid @RequestBody LoginRequestDTO request,
+                                                                    HttpServletRequest httpRequest) {
+        return authService.login(request, clientIp(httpRequest))
+                .thenApply(response -> {
+                    logger.info("User logged in: username={}, role={}", response.getUsername(), response.getRole());
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshTokenRequestDTO request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    // Public so a client holding an expired access token can still discard its refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@Valid @RequestBody RefreshTokenRequestDTO request,
+                                         @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        authService.logout(request.getRefreshToken(), accessToken);
+        return ResponseEntity.ok("Logged out successfully");
     }
 
     @PostMapping("/create-staff")
@@ -75,4 +100,23 @@ public class AuthController {
         logger.info("Staff user deleted: id={}", id);
         return ResponseEntity.ok("Staff deleted successfully");
     }
+
+    @PostMapping("/staff/{id}/revoke-sessions")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<String> revokeSessions(@PathVariable Long id) throws ResourceNotFoundException {
+        authService.revokeSessions(id);
+        logger.info("Staff sessions revoked: id={}", id);
+        return ResponseEntity.ok("Staff sessions revoked successfully");
+    }
+
+    // Only a request signed by the gateway has a trustworthy X-Forwarded-For; its last entry is the address
+    // the gateway saw, earlier ones are client-supplied. Anything else is keyed by the socket address.
+    private String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank() && gatewayIdentityVerifier.verify(request) != null) {
+            String[] hops = forwardedFor.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
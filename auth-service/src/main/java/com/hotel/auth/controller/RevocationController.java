@@ -0,0 +1,26 @@
+package com.hotel.auth.controller;
+
+import com.hotel.auth.security.RevocationLog;
+import com.hotel.security.RevocationFeed;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Pulled by the gateway and every service; outside /api so the gateway does not route it
+@RestController
+@RequestMapping("/internal/revocations")
+public class RevocationController {
+
+    private final RevocationLog revocationLog;
+
+    public RevocationController(RevocationLog revocationLog) {
+        this.revocationLog = revocationLog;
+    }
+
+    @GetMapping
+    public ResponseEntity<RevocationFeed> getRevocations(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(revocationLog.feed(since));
+    }
+}
@@ -10,4 +10,7 @@ public class AuthResponseDTO {
     private String token;
     private String username;
     private Role role;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private long expiresIn;
 }
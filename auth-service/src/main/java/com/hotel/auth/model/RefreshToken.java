@@ -0,0 +1,31 @@
+package com.hotel.auth.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Only the SHA-256 of the token is stored, so a leaked table cannot be replayed
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_user", columnList = "userId"))
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,33 @@
+package com.hotel.auth.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One revocation: a single access token when {@code tokenId} is set, otherwise every token of
+ * {@code userId} issued in a second before {@code revokedAt}'s. The id doubles as the feed version services pull from.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_expires", columnList = "expiresAt"))
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 36)
+    private String tokenId;
+
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,50 @@
+package com.hotel.auth.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Finishes a login once its password has been checked: the hash upgrade and the refresh token insert
+ * run here, so the hashing pool only ever hashes and a slow database cannot starve password checks.
+ * Bounded like the hashing pool; a full queue refuses the login with 503.
+ */
+@Component
+public class LoginCompletionPool {
+
+    private final ThreadPoolExecutor executor;
+
+    public LoginCompletionPool(@Value("${auth.login.completion.threads:8}") int threads,
+                               @Value("${auth.login.completion.queue-capacity:256}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-completion-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    throw new ResponseStatusException(
+                            HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress, please retry shortly");
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public <T, R> CompletableFuture<R> thenApply(CompletableFuture<T> stage, Function<T, R> work) {
+        return stage.thenApplyAsync(work, executor);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotel.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login attempt counters per username and per client IP. Attempts over either limit are
+ * refused with 429 before any database or hashing work is done.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final int maxPerUser;
+    private final int maxPerIp;
+    private final Cache<String, AtomicInteger> attemptsByUser;
+    private final Cache<String, AtomicInteger> attemptsByIp;
+
+    public LoginRateLimiter(@Value("${auth.login.rate-limit.per-user:20}") int maxPerUser,
+                            @Value("${auth.login.rate-limit.per-ip:100}") int maxPerIp,
+                            @Value("${auth.login.rate-limit.window-seconds:60}") long windowSeconds,
+                            @Value("${auth.login.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.maxPerUser = maxPerUser;
+        this.maxPerIp = maxPerIp;
+        // The window starts with the first attempt; incrementing the counter does not extend it
+        this.attemptsByUser = counters(windowSeconds, maxTrackedKeys);
+        this.attemptsByIp = counters(windowSeconds, maxTrackedKeys);
+    }
+
+    public void acquire(String username, String clientIp) {
+        if (clientIp != null && increment(attemptsByIp, clientIp) > maxPerIp) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many login attempts from this address, please wait a minute");
+        }
+        if (username != null && increment(attemptsByUser, username.toLowerCase(Locale.ROOT)) > maxPerUser) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many login attempts for this user, please wait a minute");
+        }
+    }
+
+    private static int increment(Cache<String, AtomicInteger> counters, String key) {
+        return counters.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static Cache<String, AtomicInteger> counters(long windowSeconds, long maxTrackedKeys) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(maxTrackedKeys)
+                .build();
+    }
+}
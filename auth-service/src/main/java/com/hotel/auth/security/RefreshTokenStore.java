@@ -0,0 +1,80 @@
+package com.hotel.auth.security;
+
+import com.hotel.auth.model.RefreshToken;
+import com.hotel.auth.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Opaque, single-use refresh tokens. Each refresh consumes the presented token and issues a new one,
+ * so the user is looked up once per access-token lifetime rather than on every request.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+                             @Value("${jwt.refresh-expiration:1209600000}") long expirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationMs = expirationMs;
+    }
+
+    public String issue(Long userId) {
+        Instant now = Instant.now();
+        refreshTokenRepository.deleteExpiredForUser(userId, now);
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setUserId(userId);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plusMillis(expirationMs));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    /**
+     * Deletes the token and returns its owner, or empty if it is unknown, expired or was already used.
+     */
+    public Optional<Long> consume(String rawToken) {
+        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (refreshToken.isEmpty() || refreshTokenRepository.deleteRow(refreshToken.get().getId()) == 0) {
+            return Optional.empty();
+        }
+        return refreshToken.get().getExpiresAt().isAfter(Instant.now())
+                ? Optional.of(refreshToken.get().getUserId())
+                : Optional.empty();
+    }
+
+    public void discard(String rawToken) {
+        refreshTokenRepository.deleteByTokenHash(hash(rawToken));
+    }
+
+    public void discardAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
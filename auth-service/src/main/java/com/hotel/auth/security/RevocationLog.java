@@ -0,0 +1,82 @@
+package com.hotel.auth.security;
+
+import com.hotel.auth.model.RevokedToken;
+import com.hotel.auth.repository.RevokedTokenRepository;
+import com.hotel.common.security.JwtUtils;
+import com.hotel.common.security.TokenRevocationList;
+import com.hotel.security.RevocationFeed;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Durable record of revoked access tokens, served to every service's {@link TokenRevocationList}
+ * as an incremental feed. Rows are kept only until the tokens they cover would have expired anyway.
+ */
+@Component
+public class RevocationLog {
+
+    // Rows this recent are re-sent on the next pull, in case a lower id commits after a higher one
+    private static final Duration SETTLE_TIME = Duration.ofSeconds(5);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList revocationList;
+    private final JwtUtils jwtUtils;
+
+    public RevocationLog(RevokedTokenRepository revokedTokenRepository, TokenRevocationList revocationList,
+                         JwtUtils jwtUtils) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationList = revocationList;
+        this.jwtUtils = jwtUtils;
+    }
+
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        record(claims.getId(), jwtUtils.extractUserId(claims), claims.getExpiration().toInstant());
+    }
+
+    // Every access token of the user issued up to now, including ones this service never saw
+    public void revokeUser(Long userId) {
+        record(null, userId, Instant.now().plusMillis(jwtUtils.getExpirationMs()));
+    }
+
+    public RevocationFeed feed(long since) {
+        Instant now = Instant.now();
+        List<RevokedToken> rows = revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfterOrderById(since, now);
+
+        Instant settled = now.minus(SETTLE_TIME);
+        long version = since;
+        for (RevokedToken row : rows) {
+            if (row.getRevokedAt().isAfter(settled)) {
+                break;
+            }
+            version = row.getId();
+        }
+        return new RevocationFeed(version, rows.stream().map(RevocationLog::toEntry).toList());
+    }
+
+    private void record(String tokenId, Long userId, Instant expiresAt) {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+
+        RevokedToken revoked = new RevokedToken();
+        revoked.setTokenId(tokenId);
+        revoked.setUserId(userId);
+        revoked.setRevokedAt(now);
+        revoked.setExpiresAt(expiresAt);
+        revokedTokenRepository.save(revoked);
+
+        // Applies on this instance at once; other services pick it up on their next pull
+        revocationList.apply(List.of(toEntry(revoked)));
+    }
+
+    private static RevocationFeed.Entry toEntry(RevokedToken revoked) {
+        return new RevocationFeed.Entry(revoked.getTokenId(), revoked.getUserId(),
+                revoked.getRevokedAt().toEpochMilli(), revoked.getExpiresAt().toEpochMilli());
+    }
+}
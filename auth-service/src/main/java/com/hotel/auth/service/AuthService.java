@@ -10,12 +10,16 @@ import com.hotel.common.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface AuthService {
     AuthResponseDTO register(RegisterRequestDTO registerRequestDTO) throws UserAlreadyExistsException;
-    AuthResponseDTO login(LoginRequestDTO loginRequestDTO);
+    CompletableFuture<AuthResponseDTO> login(LoginRequestDTO loginRequestDTO, String clientIp);
+    AuthResponseDTO refresh(String refreshToken);
+    void logout(String refreshToken, String accessToken);
     User createStaff(@Valid StaffRequestDTO request) throws UserAlreadyExistsException;
     List<User> getAllStaff();
     User updateStaff(Long id, @Valid StaffRequestDTO request) throws ResourceNotFoundException, UserAlreadyExistsException;
     void deleteStaff(Long id) throws ResourceNotFoundException;
+    void revokeSessions(Long id) throws ResourceNotFoundException;
 }
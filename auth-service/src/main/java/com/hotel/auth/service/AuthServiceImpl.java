@@ -6,18 +6,24 @@ import com.hotel.auth.dto.RegisterRequestDTO;
 import com.hotel.auth.dto.StaffRequestDTO;
 import com.hotel.auth.model.User;
 import com.hotel.auth.repository.UserRepository;
+import com.hotel.auth.security.LoginCompletionPool;
+import com.hotel.auth.security.LoginRateLimiter;
+import com.hotel.auth.security.PasswordHasher;
+import com.hotel.auth.security.RefreshTokenStore;
+import com.hotel.auth.security.RevocationLog;
 import com.hotel.common.exception.UserAlreadyExistsException;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.common.model.Role;
 import com.hotel.common.security.JwtUtils;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthServiceImpl implements AuthService {
@@ -25,17 +31,29 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHasher passwordHasher;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RevocationLog revocationLog;
+    private final LoginCompletionPool loginCompletionPool;
 
     public AuthServiceImpl(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtUtils jwtUtils,
-            AuthenticationManager authenticationManager) {
+            PasswordHasher passwordHasher,
+            LoginRateLimiter loginRateLimiter,
+            RefreshTokenStore refreshTokenStore,
+            RevocationLog revocationLog,
+            LoginCompletionPool loginCompletionPool) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
-        this.authenticationManager = authenticationManager;
+        this.passwordHasher = passwordHasher;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenStore = refreshTokenStore;
+        this.revocationLog = revocationLog;
+        this.loginCompletionPool = loginCompletionPool;
     }
 
     @Override
@@ -51,26 +69,57 @@ public class AuthServiceImpl implements AuthService {
 
         User savedUser = userRepository.save(user);
 
-        String token = jwtUtils.generateToken(savedUser);
-
-        return new AuthResponseDTO(token, savedUser.getUsername(), savedUser.getRole());
+        return issueTokens(savedUser);
     }
 
+    /**
+     * One user lookup on the request thread, then the password check on the hashing pool. Hashes made
+     * with a lower cost than the configured one are re-hashed there too after a successful check; the
+     * database writes that follow run on the login completion pool.
+     */
     @Override
-    public AuthResponseDTO login(LoginRequestDTO loginRequestDTO) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequestDTO.getUsername(),
-                        loginRequestDTO.getPassword()
-                )
-        );
-
-        User user = userRepository.findByUsername(loginRequestDTO.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + loginRequestDTO.getUsername()));
+    public CompletableFuture<AuthResponseDTO> login(LoginRequestDTO loginRequestDTO, String clientIp) {
+        loginRateLimiter.acquire(loginRequestDTO.getUsername(), clientIp);
+
+        User user = userRepository.findByUsername(loginRequestDTO.getUsername()).orElse(null);
+        String rawPassword = loginRequestDTO.getPassword();
+
+        CompletableFuture<String> upgradedHash = passwordHasher.verify(rawPassword, user != null ? user.getPassword() : null)
+                .thenApply(verified -> {
+                    if (!verified) {
+                        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
+                    }
+                    return passwordHasher.needsUpgrade(user.getPassword()) ? passwordHasher.encode(rawPassword) : null;
+                });
+
+        return loginCompletionPool.thenApply(upgradedHash, hash -> {
+            if (hash != null) {
+                user.setPassword(hash);
+                userRepository.save(user);
+            }
+            return issueTokens(user);
+        });
+    }
 
-        String token = jwtUtils.generateToken(user);
+    @Override
+    public AuthResponseDTO refresh(String refreshToken) {
+        User user = refreshTokenStore.consume(refreshToken)
+                .flatMap(userRepository::findById)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token"));
+        return issueTokens(user);
+    }
 
-        return new AuthResponseDTO(token, user.getUsername(), user.getRole());
+    @Override
+    public void logout(String refreshToken, String accessToken) {
+        refreshTokenStore.discard(refreshToken);
+        if (accessToken == null) {
+            return;
+        }
+        try {
+            revocationLog.revokeToken(jwtUtils.parseToken(accessToken));
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Already expired, revoked or invalid: nothing left to revoke
+        }
     }
 
     @Override
@@ -109,13 +158,20 @@ public class AuthServiceImpl implements AuthService {
             throw new UserAlreadyExistsException("Username already exists: " + request.getUsername());
         }
 
+        // Outstanding tokens carry the old username and role in their claims
+        boolean identityChanged = !staff.getUsername().equals(request.getUsername()) || staff.getRole() != request.getRole();
+
         staff.setUsername(request.getUsername());
         staff.setEmail(request.getEmail());
         staff.setFirstName(request.getFirstName());
         staff.setLastName(request.getLastName());
         staff.setRole(request.getRole());
 
-        return userRepository.save(staff);
+        User saved = userRepository.save(staff);
+        if (identityChanged) {
+            endSessions(id);
+        }
+        return saved;
     }
 
     @Override
@@ -123,6 +179,27 @@ public class AuthServiceImpl implements AuthService {
         User staff = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Staff not found with ID: " + id));
         userRepository.delete(staff);
+        endSessions(id);
+    }
+
+    @Override
+    public void revokeSessions(Long id) throws ResourceNotFoundException {
+        if (!userRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Staff not found with ID: " + id);
+        }
+        endSessions(id);
+    }
+
+    private void endSessions(Long userId) {
+        refreshTokenStore.discardAll(userId);
+        revocationLog.revokeUser(userId);
+    }
+
+    private AuthResponseDTO issueTokens(User user) {
+        String token = jwtUtils.generateToken(user.getId(), user);
+        String refreshToken = refreshTokenStore.issue(user.getId());
+        return new AuthResponseDTO(token, user.getUsername(), user.getRole(), refreshToken,
+                jwtUtils.getExpirationMs() / 1000);
     }
 
 }
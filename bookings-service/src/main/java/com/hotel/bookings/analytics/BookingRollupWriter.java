@@ -0,0 +1,235 @@
+package com.hotel.bookings.analytics;
+
+import com.hotel.bookings.event.BookingChangedEvent;
+import com.hotel.bookings.event.BookingSnapshot;
+import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.DailyRollup;
+import com.hotel.bookings.model.RoomNight;
+import com.hotel.bookings.repository.BookingRepository;
+import com.hotel.bookings.repository.DailyRollupRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link DailyRollup} rows in step with bookings. Each {@link BookingChangedEvent} is turned into
+ * per-night deltas (the old state subtracted, the new one added); deltas from one transaction are merged
+ * and written as a single batched upsert just before it commits, so rollups and bookings commit together.
+ * A transaction holds the read side of {@code rebuildLock} from its first change until it completes and a
+ * rebuild holds the write side, so a rebuild never runs alongside a change it could miss or count twice.
+ * The lock is per instance; rebuilds are meant for one instance while writes are quiet elsewhere.
+ */
+@Component
+public class BookingRollupWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingRollupWriter.class);
+
+    private static final String UPSERT = "INSERT INTO booking_daily_rollups "
+            + "(stay_date, room_type, rooms_sold, revenue, cancellations) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE rooms_sold = rooms_sold + VALUES(rooms_sold), "
+            + "revenue = revenue + VALUES(revenue), cancellations = cancellations + VALUES(cancellations)";
+
+    // Transaction resource key for the deltas collected so far
+    private final Object pendingKey = new Object();
+
+    // Fair, so a waiting rebuild is not starved by a steady stream of booking transactions
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock(true);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final DailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public BookingRollupWriter(JdbcTemplate jdbcTemplate, BookingRepository bookingRepository,
+                               DailyRollupRepository rollupRepository,
+                               TransactionTemplate transactionTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingRepository = bookingRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // Runs synchronously on the publishing thread, inside the booking transaction
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<RollupKey, RollupDelta> deltas = inTransaction ? pendingDeltas() : new TreeMap<>();
+        if (event.before() != null) {
+            accumulate(deltas, event.before(), -1);
+        }
+        if (event.after() != null) {
+            accumulate(deltas, event.after(), 1);
+        }
+        if (!inTransaction) {
+            rebuildLock.readLock().lock();
+            try {
+                write(deltas);
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0 && bookingRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes every rollup from the bookings table, using the room type stored on each booking; stays
+     * booked before room types were recorded count under UNKNOWN. Waits for in-flight booking
+     * transactions to finish and holds new ones back until the rebuilt rows are committed.
+     */
+    public long rebuild() {
+        acquireRebuildLock();
+        try {
+            return rebuildLocked();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    // Tries in short slices instead of queueing indefinitely: a queued writer holds back new readers, and a
+    // transaction already holding the read side may be waiting on a row lock held by one of them
+    private void acquireRebuildLock() {
+        try {
+            boolean locked = false;
+            while (!locked) {
+                locked = rebuildLock.writeLock().tryLock(100, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to rebuild rollups", e);
+        }
+    }
+
+    private long rebuildLocked() {
+        long started = System.currentTimeMillis();
+        // The transaction starts after the lock is taken, so it reads every booking committed before it
+        Long bookings = transactionTemplate.execute(status -> {
+            Map<RollupKey, RollupDelta> totals = new TreeMap<>();
+            long count = 0;
+            try (Stream<Booking> all = bookingRepository.streamAll()) {
+                for (Booking booking : (Iterable<Booking>) all::iterator) {
+                    accumulate(totals, BookingSnapshot.of(booking), 1);
+                    entityManager.detach(booking);
+                    count++;
+                }
+            }
+            jdbcTemplate.update("DELETE FROM booking_daily_rollups");
+            write(totals);
+            return count;
+        });
+        logger.info("Rebuilt daily rollups from {} bookings in {} ms", bookings, System.currentTimeMillis() - started);
+        return bookings != null ? bookings : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<RollupKey, RollupDelta> pendingDeltas() {
+        Map<RollupKey, RollupDelta> deltas = (Map<RollupKey, RollupDelta>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (deltas != null) {
+            return deltas;
+        }
+        Map<RollupKey, RollupDelta> created = new TreeMap<>();
+        rebuildLock.readLock().lock();
+        TransactionSynchronizationManager.bindResource(pendingKey, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                rebuildLock.readLock().unlock();
+            }
+        });
+        return created;
+    }
+
+    // Revenue is split into whole cents per night; the last night takes the rounding remainder
+    private static void accumulate(Map<RollupKey, RollupDelta> deltas, BookingSnapshot booking, int sign) {
+        List<LocalDate> nights = RoomNight.nightsOf(booking.checkInDate(), booking.checkOutDate());
+        String roomType = booking.roomType() != null ? booking.roomType() : DailyRollup.UNKNOWN_ROOM_TYPE;
+        boolean held = booking.holdsRoom();
+
+        BigDecimal total = held && booking.totalAmount() != null
+                ? BigDecimal.valueOf(booking.totalAmount()).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        BigDecimal perNight = total.divide(BigDecimal.valueOf(nights.size()), 2, RoundingMode.DOWN);
+        BigDecimal lastNight = total.subtract(perNight.multiply(BigDecimal.valueOf(nights.size() - 1)));
+
+        for (int i = 0; i < nights.size(); i++) {
+            RollupDelta delta = deltas.computeIfAbsent(new RollupKey(nights.get(i), roomType), key -> new RollupDelta());
+            if (held) {
+                delta.roomsSold += sign;
+                BigDecimal revenue = i == nights.size() - 1 ? lastNight : perNight;
+                delta.revenue = delta.revenue.add(revenue.multiply(BigDecimal.valueOf(sign)));
+            } else {
+                delta.cancellations += sign;
+            }
+        }
+    }
+
+    // Rows are written in (date, type) order so concurrent transactions lock them in the same order
+    private void write(Map<RollupKey, RollupDelta> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                rows.add(new Object[]{Date.valueOf(key.stayDate()), key.roomType(),
+                        delta.roomsSold, delta.revenue, delta.cancellations});
+            }
+        });
+        deltas.clear();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+
+    private record RollupKey(LocalDate stayDate, String roomType) implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator
+                .comparing(RollupKey::stayDate)
+                .thenComparing(RollupKey::roomType);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class RollupDelta {
+        long roomsSold;
+        BigDecimal revenue = BigDecimal.ZERO;
+        long cancellations;
+
+        boolean isZero() {
+            return roomsSold == 0 && cancellations == 0 && revenue.signum() == 0;
+        }
+    }
+}
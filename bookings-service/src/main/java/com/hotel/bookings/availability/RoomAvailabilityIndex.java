@@ -0,0 +1,221 @@
+package com.hotel.bookings.availability;
+
+import com.hotel.bookings.event.BookingChangedEvent;
+import com.hotel.bookings.event.BookingSnapshot;
+import com.hotel.bookings.model.BookingStatus;
+import com.hotel.bookings.model.RoomNight;
+import com.hotel.bookings.repository.BookingRepository;
+import com.hotel.bookings.repository.RoomNightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the stays that hold each room (every booking that is not cancelled),
+ * kept sorted by first night so overlap checks touch only the few stays around the requested window,
+ * plus a per-night occupancy bitmap per room for date-range availability searches. Stays are compared
+ * by the nights they hold ({@link RoomNight#nightsOf}), the same definition the room_nights guard uses.
+ * Loaded at startup and maintained from {@link BookingChangedEvent}s after commit; while it is
+ * still loading (or disabled) lookups go to the room_nights table.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    // Bit 0 of every room's night bitmap is this date
+    private static final long EPOCH_NIGHT = LocalDate.of(2000, 1, 1).toEpochDay();
+
+    private final BookingRepository bookingRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final boolean enabled;
+
+    private final Map<Long, RoomStays> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Stay> staysByBooking = new ConcurrentHashMap<>();
+
+    // Events seen while the initial load is running are replayed on top of it
+    private final List<BookingChangedEvent> pendingEvents = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean warm;
+
+    public RoomAvailabilityIndex(BookingRepository bookingRepository, RoomNightRepository roomNightRepository,
+                                 @Value("${bookings.availability-index.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.roomNightRepository = roomNightRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingEvents) {
+            loading = true;
+        }
+
+        long started = System.currentTimeMillis();
+        bookingRepository.findByStatusNot(BookingStatus.CANCELLED)
+                .forEach(booking -> add(BookingSnapshot.of(booking)));
+
+        synchronized (pendingEvents) {
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            loading = false;
+            warm = true;
+        }
+        logger.info("Room availability index loaded {} stays across {} rooms in {} ms",
+                staysByBooking.size(), rooms.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingEvents) {
+            if (loading) {
+                pendingEvents.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    /**
+     * Returns true if any stay other than {@code excludeBookingId} holds one of the nights of [checkIn, checkOut).
+     */
+    public boolean hasConflict(Long roomId, LocalDateTime checkIn, LocalDateTime checkOut, Long excludeBookingId) {
+        LocalDate firstNight = RoomNight.firstNight(checkIn);
+        LocalDate lastNightExclusive = RoomNight.lastNightExclusive(checkIn, checkOut);
+        if (!warm) {
+            return roomNightRepository.existsHeldNight(roomId, firstNight, lastNightExclusive, excludeBookingId);
+        }
+        RoomStays stays = rooms.get(roomId);
+        return stays != null && stays.overlaps(nightIndex(firstNight), nightIndex(lastNightExclusive), excludeBookingId);
+    }
+
+    /**
+     * Returns the rooms that are held for at least one night in [firstNight, lastNightExclusive).
+     */
+    public Set<Long> findOccupiedRooms(LocalDate firstNight, LocalDate lastNightExclusive) {
+        if (!warm) {
+            return new HashSet<>(roomNightRepository.findHeldRoomIds(firstNight, lastNightExclusive));
+        }
+        int from = nightIndex(firstNight);
+        int to = nightIndex(lastNightExclusive);
+        Set<Long> occupied = new HashSet<>();
+        rooms.forEach((roomId, stays) -> {
+            if (stays.anyNightHeld(from, to)) {
+                occupied.add(roomId);
+            }
+        });
+        return occupied;
+    }
+
+    private void apply(BookingChangedEvent event) {
+        if (event.before() != null) {
+            remove(event.before().id());
+        }
+        if (event.after() != null && event.after().holdsRoom()) {
+            add(event.after());
+        }
+    }
+
+    private void add(BookingSnapshot booking) {
+        remove(booking.id());
+        Stay stay = new Stay(booking.id(), booking.roomId(),
+                nightIndex(RoomNight.firstNight(booking.checkInDate())),
+                nightIndex(RoomNight.lastNightExclusive(booking.checkInDate(), booking.checkOutDate())));
+        staysByBooking.put(stay.bookingId(), stay);
+        rooms.computeIfAbsent(stay.roomId(), id -> new RoomStays()).add(stay);
+    }
+
+    private void remove(Long bookingId) {
+        Stay stay = staysByBooking.remove(bookingId);
+        if (stay != null) {
+            RoomStays stays = rooms.get(stay.roomId());
+            if (stays != null) {
+                stays.remove(stay);
+            }
+        }
+    }
+
+    private static int nightIndex(LocalDate night) {
+        return (int) Math.max(0, night.toEpochDay() - EPOCH_NIGHT);
+    }
+
+    private record Stay(Long bookingId, Long roomId, int firstNight, int lastNightExclusive) {
+    }
+
+    private static final class RoomStays {
+
+        private static final Comparator<Stay> ORDER = Comparator
+                .comparingInt(Stay::firstNight)
+                .thenComparing(Stay::bookingId);
+
+        private final TreeSet<Stay> stays = new TreeSet<>(ORDER);
+        private final BitSet nights = new BitSet();
+
+        // Longest stay ever held; bounds how far back a scan has to look
+        private int longestStay;
+
+        synchronized void add(Stay stay) {
+            stays.add(stay);
+            nights.set(stay.firstNight(), stay.lastNightExclusive());
+            longestStay = Math.max(longestStay, stay.lastNightExclusive() - stay.firstNight());
+        }
+
+        synchronized void remove(Stay stay) {
+            stays.remove(stay);
+            nights.clear(stay.firstNight(), stay.lastNightExclusive());
+            // Re-mark nights shared with any remaining stay
+            for (Stay other : stays) {
+                if (other.firstNight() < stay.lastNightExclusive() && other.lastNightExclusive() > stay.firstNight()) {
+                    nights.set(other.firstNight(), other.lastNightExclusive());
+                }
+            }
+        }
+
+        synchronized boolean anyNightHeld(int from, int to) {
+            int held = nights.nextSetBit(from);
+            return held >= 0 && held < to;
+        }
+
+        synchronized boolean overlaps(int firstNight, int lastNightExclusive, Long excludeBookingId) {
+            // Walk back from the last stay starting before lastNightExclusive; stays starting at or
+            // before firstNight - longestStay cannot reach into the window
+            int horizon = firstNight - longestStay;
+            Iterator<Stay> candidates = stays
+                    .headSet(new Stay(Long.MIN_VALUE, null, lastNightExclusive, 0), false)
+                    .descendingIterator();
+            while (candidates.hasNext()) {
+                Stay stay = candidates.next();
+                if (stay.firstNight() <= horizon) {
+                    return false;
+                }
+                if (stay.lastNightExclusive() > firstNight && !stay.bookingId().equals(excludeBookingId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
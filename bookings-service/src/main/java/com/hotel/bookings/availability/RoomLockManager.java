@@ -0,0 +1,56 @@
+package com.hotel.bookings.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-room locks that serialize reservation writes for the same room within this
+ * instance, so bookings for different rooms rarely contend. Stripes are always taken in
+ * ascending order to avoid deadlocks when a booking moves between rooms.
+ */
+@Component
+public class RoomLockManager {
+
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+
+    public RoomLockManager(@Value("${bookings.concurrency.striped-locks:true}") boolean enabled,
+                           @Value("${bookings.concurrency.lock-stripes:256}") int stripeCount) {
+        this.enabled = enabled;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withRoomLocks(Collection<Long> roomIds, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        int[] held = roomIds.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int stripe : held) {
+            stripes[stripe].lock();
+        }
+        try {
+            return work.get();
+        } finally {
+            for (int i = held.length - 1; i >= 0; i--) {
+                stripes[held[i]].unlock();
+            }
+        }
+    }
+
+    private int stripeOf(Long roomId) {
+        return Math.floorMod(Long.hashCode(roomId), stripes.length);
+    }
+}
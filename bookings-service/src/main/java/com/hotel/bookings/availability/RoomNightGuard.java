@@ -0,0 +1,77 @@
+package com.hotel.bookings.availability;
+
+import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.BookingStatus;
+import com.hotel.bookings.model.RoomNight;
+import com.hotel.bookings.repository.BookingRepository;
+import com.hotel.bookings.repository.RoomNightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the {@link RoomNight} rows for bookings that hold a room. Inserting them inside the
+ * booking transaction makes a concurrent overlapping reservation fail on the unique key.
+ */
+@Component
+public class RoomNightGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomNightGuard.class);
+
+    private final RoomNightRepository roomNightRepository;
+    private final BookingRepository bookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RoomNightGuard(RoomNightRepository roomNightRepository, BookingRepository bookingRepository,
+                          JdbcTemplate jdbcTemplate) {
+        this.roomNightRepository = roomNightRepository;
+        this.bookingRepository = bookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replaces the nights held by the booking; must run inside the booking transaction.
+     * Throws DataIntegrityViolationException if another booking already holds one of the nights.
+     */
+    public void hold(Booking booking) {
+        roomNightRepository.deleteByBookingId(booking.getId());
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            return;
+        }
+        List<RoomNight> nights = RoomNight.nightsOf(booking.getCheckInDate(), booking.getCheckOutDate()).stream()
+                .map(night -> new RoomNight(null, booking.getRoomId(), night, booking.getId()))
+                .toList();
+        roomNightRepository.saveAllAndFlush(nights);
+    }
+
+    public void release(Long bookingId) {
+        roomNightRepository.deleteByBookingId(bookingId);
+    }
+
+    // Bookings created before the ledger existed have no rows yet
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (roomNightRepository.count() > 0) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (Booking booking : bookingRepository.findByStatusNot(BookingStatus.CANCELLED)) {
+            RoomNight.nightsOf(booking.getCheckInDate(), booking.getCheckOutDate())
+                    .forEach(night -> rows.add(new Object[]{booking.getRoomId(), Date.valueOf(night), booking.getId()}));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // INSERT IGNORE keeps the first holder if legacy data already overlaps
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO room_nights (room_id, night, booking_id) VALUES (?, ?, ?)", rows);
+        logger.info("Backfilled {} room nights from existing bookings", rows.size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.hotel.bookings.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Shared plumbing for the non-blocking clients used to enrich bookings with
+ * data owned by other services. Calls carry the caller's bearer token and are
+ * bounded by a per-call timeout.
+ */
+abstract class DownstreamClient {
+
+    private final WebClient webClient;
+    private final String serviceName;
+    private final Duration timeout;
+
+    protected DownstreamClient(WebClient webClient, String serviceName, Duration timeout) {
+        this.webClient = webClient;
+        this.serviceName = serviceName;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Issues a GET and emits the body, or completes empty on 404.
+     * The Authorization header is captured on the calling (request) thread.
+     */
+    protected <T> Mono<T> get(String uri, Class<T> type) {
+        String authorization = currentAuthorization();
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(type)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty())
+                .timeout(timeout)
+                .onErrorMap(TimeoutException.class, ex -> new ResponseStatusException(
+                        HttpStatus.GATEWAY_TIMEOUT, serviceName + " did not respond within " + timeout.toMillis() + " ms"));
+    }
+
+    protected static String joinIds(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static String currentAuthorization() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hotel.bookings.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hotel.bookings.dto.GuestResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class GuestClient extends DownstreamClient {
+
+    private final String guestsServiceUrl;
+    private final Cache<Long, GuestResponseDTO> cache;
+    private final SnapshotCacheGuard<GuestResponseDTO> cacheGuard;
+
+    public GuestClient(WebClient downstreamWebClient,
+                       @Value("${guests.service.url:http://localhost:8083}") String guestsServiceUrl,
+                       @Value("${bookings.client.guests-timeout-ms:3000}") long timeoutMs,
+                       Cache<Long, GuestResponseDTO> guestSnapshotCache) {
+        super(downstreamWebClient, "guests-service", Duration.ofMillis(timeoutMs));
+        this.guestsServiceUrl = guestsServiceUrl;
+        this.cache = guestSnapshotCache;
+        this.cacheGuard = new SnapshotCacheGuard<>(guestSnapshotCache);
+    }
+
+    public Mono<GuestResponseDTO> getGuest(Long id) {
+        GuestResponseDTO cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = cacheGuard.generation(id);
+        return get(guestsServiceUrl + "/api/guests/" + id, GuestResponseDTO.class)
+                .doOnNext(guest -> cacheGuard.putIfCurrent(id, guest, generation));
+    }
+
+    public Mono<Map<Long, GuestResponseDTO>> getGuests(Collection<Long> ids) {
+        Map<Long, GuestResponseDTO> found = new HashMap<>(cache.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+        Map<Long, Long> generations = new HashMap<>();
+        missing.forEach(id -> generations.put(id, cacheGuard.generation(id)));
+        return get(guestsServiceUrl + "/api/guests/batch?ids=" + joinIds(missing), GuestResponseDTO[].class)
+                .map(guests -> {
+                    for (GuestResponseDTO guest : guests) {
+                        Long generation = generations.get(guest.getId());
+                        if (generation != null) {
+                            cacheGuard.putIfCurrent(guest.getId(), guest, generation);
+                        }
+                        found.put(guest.getId(), guest);
+                    }
+                    return found;
+                })
+                .defaultIfEmpty(found);
+    }
+
+    public void invalidate(Long id) {
+        cacheGuard.invalidate(id);
+    }
+}
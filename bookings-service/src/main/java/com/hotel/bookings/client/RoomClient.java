@@ -0,0 +1,69 @@
+package com.hotel.bookings.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.hotel.bookings.dto.RoomResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class RoomClient extends DownstreamClient {
+
+    private final String roomsServiceUrl;
+    private final Cache<Long, RoomResponseDTO> cache;
+    private final SnapshotCacheGuard<RoomResponseDTO> cacheGuard;
+
+    public RoomClient(WebClient downstreamWebClient,
+                      @Value("${rooms.service.url:http://localhost:8082}") String roomsServiceUrl,
+                      @Value("${bookings.client.rooms-timeout-ms:3000}") long timeoutMs,
+                      Cache<Long, RoomResponseDTO> roomSnapshotCache) {
+        super(downstreamWebClient, "rooms-service", Duration.ofMillis(timeoutMs));
+        this.roomsServiceUrl = roomsServiceUrl;
+        this.cache = roomSnapshotCache;
+        this.cacheGuard = new SnapshotCacheGuard<>(roomSnapshotCache);
+    }
+
+    public Mono<RoomResponseDTO> getRoom(Long id) {
+        RoomResponseDTO cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = cacheGuard.generation(id);
+        return get(roomsServiceUrl + "/api/rooms/" + id, RoomResponseDTO.class)
+                .doOnNext(room -> cacheGuard.putIfCurrent(id, room, generation));
+    }
+
+    public Mono<Map<Long, RoomResponseDTO>> getRooms(Collection<Long> ids) {
+        Map<Long, RoomResponseDTO> found = new HashMap<>(cache.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+        Map<Long, Long> generations = new HashMap<>();
+        missing.forEach(id -> generations.put(id, cacheGuard.generation(id)));
+        return get(roomsServiceUrl + "/api/rooms/batch?ids=" + joinIds(missing), RoomResponseDTO[].class)
+                .map(rooms -> {
+                    for (RoomResponseDTO room : rooms) {
+                        Long generation = generations.get(room.getId());
+                        if (generation != null) {
+                            cacheGuard.putIfCurrent(room.getId(), room, generation);
+                        }
+                        found.put(room.getId(), room);
+                    }
+                    return found;
+                })
+                .defaultIfEmpty(found);
+    }
+
+    public void invalidate(Long id) {
+        cacheGuard.invalidate(id);
+    }
+}
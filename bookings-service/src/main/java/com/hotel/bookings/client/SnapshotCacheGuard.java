@@ -0,0 +1,41 @@
+package com.hotel.bookings.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps a lookup that started before an invalidation from writing its stale result back into the
+ * snapshot cache afterwards. Invalidations bump a striped generation counter; a fetched value is
+ * only cached if its key's stripe has not moved since the lookup began. A stripe shared with another
+ * key only costs a skipped put.
+ */
+final class SnapshotCacheGuard<V> {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, V> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    SnapshotCacheGuard(Cache<Long, V> cache) {
+        this.cache = cache;
+    }
+
+    long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    void putIfCurrent(Long id, V value, long generation) {
+        // compute serializes with invalidate() on the same key, so the check cannot be overtaken
+        cache.asMap().compute(id, (key, existing) -> generations.get(stripe(key)) == generation ? value : existing);
+    }
+
+    void invalidate(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+}
@@ -1,8 +1,75 @@
 package com.hotel.bookings.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hotel.bookings.dto.GuestResponseDTO;
+import com.hotel.bookings.dto.RoomResponseDTO;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class BookingConfig {
     // RestTemplate bean is already provided by common module
+
+    @Value("${bookings.client.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${bookings.client.response-timeout-ms:3000}")
+    private long responseTimeoutMs;
+
+    @Value("${bookings.client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${bookings.client.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${bookings.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${bookings.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    // Shared non-blocking client for guests-service and rooms-service lookups
+    @Bean
+    public WebClient downstreamWebClient() {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("bookings-downstream")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // Snapshots are invalidated by change events from guests-service and rooms-service; the TTL bounds missed events
+    @Bean
+    public Cache<Long, GuestResponseDTO> guestSnapshotCache() {
+        return snapshotCache();
+    }
+
+    @Bean
+    public Cache<Long, RoomResponseDTO> roomSnapshotCache() {
+        return snapshotCache();
+    }
+
+    private <T> Cache<Long, T> snapshotCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+    }
 }
@@ -0,0 +1,49 @@
+package com.hotel.bookings.config;
+
+import com.hotel.common.security.GatewayIdentityVerifier;
+import com.hotel.common.security.JwtClaimsAuthenticationFilter;
+import com.hotel.common.security.JwtUtils;
+import jakarta.servlet.DispatcherType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+@Configuration
+@EnableWebSecurity
+@EnableMethodSecurity
+public class SecurityConfig {
+
+    private final JwtUtils jwtUtils;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    public SecurityConfig(JwtUtils jwtUtils, GatewayIdentityVerifier gatewayIdentityVerifier) {
+        this.jwtUtils = jwtUtils;
+        this.gatewayIdentityVerifier = gatewayIdentityVerifier;
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth
+                        // Async results are written on a second dispatch of a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/internal/http-client/**").hasAnyRole("SERVICE", "MANAGER")
+                        .requestMatchers("/internal/**").hasRole("SERVICE")
+                        .anyRequest().authenticated()
+                )
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .addFilterBefore(new JwtClaimsAuthenticationFilter(jwtUtils, gatewayIdentityVerifier), UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+}
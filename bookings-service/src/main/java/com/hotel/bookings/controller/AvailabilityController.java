@@ -0,0 +1,34 @@
+package com.hotel.bookings.controller;
+
+import com.hotel.bookings.availability.RoomAvailabilityIndex;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/internal/availability")
+public class AvailabilityController {
+
+    private final RoomAvailabilityIndex availabilityIndex;
+
+    public AvailabilityController(RoomAvailabilityIndex availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    // Used by rooms-service to answer date-range availability searches
+    @GetMapping("/occupied-rooms")
+    public ResponseEntity<Set<Long>> getOccupiedRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        return ResponseEntity.ok(availabilityIndex.findOccupiedRooms(checkIn, checkOut));
+    }
+}
@@ -1,17 +1,28 @@
 package com.hotel.bookings.controller;
 
-import com.hotel.common.exception.BookingConflictException;
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
+import com.hotel.common.export.NdjsonStreamWriter;
 import com.hotel.bookings.dto.BookingRequestDTO;
 import com.hotel.bookings.dto.BookingResponseDTO;
+import com.hotel.bookings.dto.BulkBookingRequestDTO;
+import com.hotel.bookings.dto.BulkBookingResponseDTO;
+import com.hotel.bookings.dto.OccupancyReportDTO;
 import com.hotel.bookings.service.BookingService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -23,28 +34,45 @@ public class BookingController {
         this.bookingService = bookingService;
     }
 
+    // Endpoints that enrich bookings with guest and room details complete asynchronously, so the
+    // request thread is released while guests-service and rooms-service answer
     @PostMapping
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
-    public ResponseEntity<BookingResponseDTO> createBooking(@Valid @RequestBody BookingRequestDTO request) 
-            throws BookingConflictException, ResourceNotFoundException {
-        BookingResponseDTO newBooking = bookingService.createBooking(request);
-        return new ResponseEntity<>(newBooking, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<BookingResponseDTO>> createBooking(@Valid @RequestBody BookingRequestDTO request) {
+        return bookingService.createBooking(request)
+                .thenApply(newBooking -> new ResponseEntity<>(newBooking, HttpStatus.CREATED));
+    }
+
+    // Group and conference blocks; items are accepted or rejected individually
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public CompletableFuture<ResponseEntity<BulkBookingResponseDTO>> createBookings(@Valid @RequestBody BulkBookingRequestDTO request) {
+        return bookingService.createBookings(request.getBookings()).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
-    public ResponseEntity<BookingResponseDTO> getBookingById(@PathVariable Long id) 
+    public CompletableFuture<ResponseEntity<BookingResponseDTO>> getBookingById(@PathVariable Long id)
             throws ResourceNotFoundException {
-        return ResponseEntity.ok(bookingService.getBookingById(id));
+        return bookingService.getBookingById(id).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/guest/{guestId}")
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
-    public ResponseEntity<List<BookingResponseDTO>> getBookingsByGuest(
+    public CompletableFuture<ResponseEntity<List<BookingResponseDTO>>> getBookingsByGuest(
             @PathVariable Long guestId,
             @RequestParam(defaultValue = "0") int pageNo,
-            @RequestParam(defaultValue = "10") int pageSize) throws ResourceNotFoundException {
-        return ResponseEntity.ok(bookingService.getBookingsByGuest(guestId, pageNo, pageSize));
+            @RequestParam(defaultValue = "10") int pageSize) {
+        return bookingService.getBookingsByGuest(guestId, pageNo, pageSize).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/guest/{guestId}/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
+    public CompletableFuture<ResponseEntity<CursorPage<BookingResponseDTO>>> getBookingsByGuestAfter(
+            @PathVariable Long guestId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return bookingService.getBookingsByGuestAfter(guestId, after, limit).thenApply(ResponseEntity::ok);
     }
 
     @PatchMapping("/{id}/check-in")
@@ -70,18 +98,53 @@ public class BookingController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
-    public ResponseEntity<List<BookingResponseDTO>> getAllBookings(
+    public CompletableFuture<ResponseEntity<List<BookingResponseDTO>>> getAllBookings(
             @RequestParam(defaultValue = "0") int pageNo,
-            @RequestParam(defaultValue = "10") int pageSize) throws ResourceNotFoundException {
-        return ResponseEntity.ok(bookingService.getAllBookings(pageNo, pageSize));
+            @RequestParam(defaultValue = "10") int pageSize) {
+        return bookingService.getAllBookings(pageNo, pageSize).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public CompletableFuture<ResponseEntity<CursorPage<BookingResponseDTO>>> getBookingsAfter(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return bookingService.getBookingsAfter(after, limit).thenApply(ResponseEntity::ok);
+    }
+
+    // Full history as NDJSON, written row by row while the cursor is read
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        StreamingResponseBody body = out -> bookingService.exportBookings(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonStreamWriter.CONTENT_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"")
+                .body(body);
+    }
+
+    // Nights sold, revenue and cancellations per stay date and room type, served from the daily rollups
+    @GetMapping("/analytics/occupancy")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<OccupancyReportDTO> getOccupancyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String roomType) {
+        return ResponseEntity.ok(bookingService.getOccupancyReport(from, to, roomType));
+    }
+
+    // Recomputes the rollups from the bookings table, e.g. after bookings were changed outside the service
+    @PostMapping("/analytics/rebuild")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<Map<String, Long>> rebuildRollups() {
+        return ResponseEntity.ok(Map.of("bookings", bookingService.rebuildRollups()));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('MANAGER')")
-    public ResponseEntity<BookingResponseDTO> updateBooking(@PathVariable Long id,
-                                                           @Valid @RequestBody BookingRequestDTO request) 
-            throws ResourceNotFoundException, BookingConflictException {
-        return ResponseEntity.ok(bookingService.updateBooking(id, request));
+    public CompletableFuture<ResponseEntity<BookingResponseDTO>> updateBooking(@PathVariable Long id,
+                                                                                @Valid @RequestBody BookingRequestDTO request) {
+        return bookingService.updateBooking(id, request).thenApply(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{id}")
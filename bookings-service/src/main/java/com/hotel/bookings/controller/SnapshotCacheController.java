@@ -0,0 +1,63 @@
+package com.hotel.bookings.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hotel.bookings.client.GuestClient;
+import com.hotel.bookings.client.RoomClient;
+import com.hotel.bookings.dto.GuestResponseDTO;
+import com.hotel.bookings.dto.RoomResponseDTO;
+import com.hotel.common.event.ResourceChangedEvent;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/cache")
+public class SnapshotCacheController {
+
+    private final GuestClient guestClient;
+    private final RoomClient roomClient;
+    private final Cache<Long, GuestResponseDTO> guestSnapshotCache;
+    private final Cache<Long, RoomResponseDTO> roomSnapshotCache;
+
+    public SnapshotCacheController(GuestClient guestClient, RoomClient roomClient,
+                                   Cache<Long, GuestResponseDTO> guestSnapshotCache,
+                                   Cache<Long, RoomResponseDTO> roomSnapshotCache) {
+        this.guestClient = guestClient;
+        this.roomClient = roomClient;
+        this.guestSnapshotCache = guestSnapshotCache;
+        this.roomSnapshotCache = roomSnapshotCache;
+    }
+
+    // Receives change events pushed by guests-service and rooms-service
+    @PostMapping("/invalidate")
+    public ResponseEntity<Void> invalidate(@RequestBody ResourceChangedEvent event) {
+        if (ResourceChangedEvent.GUEST.equals(event.getResourceType())) {
+            guestClient.invalidate(event.getResourceId());
+        } else if (ResourceChangedEvent.ROOM.equals(event.getResourceType())) {
+            roomClient.invalidate(event.getResourceId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("guests", toMap(guestSnapshotCache));
+        response.put("rooms", toMap(roomSnapshotCache));
+        return ResponseEntity.ok(response);
+    }
+
+    private static Map<String, Object> toMap(Cache<Long, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", cache.estimatedSize());
+        map.put("hits", stats.hitCount());
+        map.put("misses", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("evictions", stats.evictionCount());
+        return map;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.bookings.dto;
+
+import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Flat export row: guest and room are referenced by id, with no downstream lookups
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingExportDTO {
+    private Long id;
+    private Long guestId;
+    private Long roomId;
+    private LocalDateTime checkInDate;
+    private LocalDateTime checkOutDate;
+    private Integer numberOfAdults;
+    private Integer numberOfChildren;
+    private Double totalAmount;
+    private BookingStatus status;
+    private LocalDateTime bookingDate;
+
+    public static BookingExportDTO of(Booking booking) {
+        return new BookingExportDTO(booking.getId(), booking.getGuestId(), booking.getRoomId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getNumberOfAdults(),
+                booking.getNumberOfChildren(), booking.getTotalAmount(), booking.getStatus(),
+                booking.getBookingDate());
+    }
+}
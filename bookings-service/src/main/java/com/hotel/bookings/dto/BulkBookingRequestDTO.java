@@ -0,0 +1,15 @@
+package com.hotel.bookings.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkBookingRequestDTO {
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 5000, message = "At most 5000 bookings can be imported at once")
+    private List<@Valid BookingRequestDTO> bookings;
+}
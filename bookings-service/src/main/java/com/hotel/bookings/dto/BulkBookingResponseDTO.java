@@ -0,0 +1,16 @@
+package com.hotel.bookings.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResponseDTO {
+    private int created;
+    private int rejected;
+    private List<BulkBookingResultDTO> results;
+}
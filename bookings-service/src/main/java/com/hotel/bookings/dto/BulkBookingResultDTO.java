@@ -0,0 +1,18 @@
+package com.hotel.bookings.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResultDTO {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index; // Position of the item in the request
+    private String status;
+    private Long bookingId;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.hotel.bookings.dto;
+
+import com.hotel.bookings.model.DailyRollup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRollupDTO {
+    private LocalDate stayDate;
+    private String roomType;
+    private long roomsSold;
+    private BigDecimal revenue;
+    private long cancellations;
+
+    public static DailyRollupDTO of(DailyRollup rollup) {
+        return new DailyRollupDTO(rollup.getStayDate(), rollup.getRoomType(), rollup.getRoomsSold(),
+                rollup.getRevenue(), rollup.getCancellations());
+    }
+}
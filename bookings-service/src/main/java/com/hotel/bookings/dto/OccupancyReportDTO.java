@@ -0,0 +1,23 @@
+package com.hotel.bookings.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyReportDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private String roomType;             // Null when all room types are included
+    private long roomsSold;              // Room-nights over the range
+    private BigDecimal revenue;
+    private long cancellations;          // Room-nights released by cancellations
+    private BigDecimal averageDailyRate; // revenue / roomsSold
+    private List<DailyRollupDTO> days;   // One row per stay date and room type with activity
+}
@@ -0,0 +1,8 @@
+package com.hotel.bookings.event;
+
+/**
+ * Published by the booking service on every state transition.
+ * {@code before} is null for a new booking and {@code after} is null for a deleted one.
+ */
+public record BookingChangedEvent(BookingSnapshot before, BookingSnapshot after) {
+}
@@ -0,0 +1,28 @@
+package com.hotel.bookings.event;
+
+import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the booking fields that derived, in-memory structures care about.
+ */
+public record BookingSnapshot(Long id,
+                              Long roomId,
+                              LocalDateTime checkInDate,
+                              LocalDateTime checkOutDate,
+                              BookingStatus status,
+                              Double totalAmount,
+                              String roomType) {
+
+    public static BookingSnapshot of(Booking booking) {
+        return new BookingSnapshot(booking.getId(), booking.getRoomId(), booking.getCheckInDate(),
+                booking.getCheckOutDate(), booking.getStatus(), booking.getTotalAmount(), booking.getRoomType());
+    }
+
+    // Cancelled bookings no longer hold the room
+    public boolean holdsRoom() {
+        return status != BookingStatus.CANCELLED;
+    }
+}
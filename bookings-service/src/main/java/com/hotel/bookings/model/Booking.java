@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_room_dates", columnList = "roomId, checkInDate, checkOutDate"),
+    @Index(name = "idx_guest_id", columnList = "guestId, id")
+})
 public class Booking {
 
     @Id
@@ -40,6 +43,9 @@ public class Booking {
     @Column(nullable = false)
     private Double totalAmount;
 
+    @Column(length = 30)
+    private String roomType; // Copied from rooms-service when booked, for reporting without a join
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
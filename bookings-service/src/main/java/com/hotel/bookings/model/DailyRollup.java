@@ -0,0 +1,43 @@
+package com.hotel.bookings.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Nights sold, revenue earned and nights cancelled for one stay date and room type.
+ * Maintained incrementally by {@link com.hotel.bookings.analytics.BookingRollupWriter}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "booking_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_date_type", columnNames = {"stayDate", "roomType"}))
+public class DailyRollup {
+
+    public static final String UNKNOWN_ROOM_TYPE = "UNKNOWN";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate stayDate;
+
+    @Column(nullable = false, length = 30)
+    private String roomType;
+
+    @Column(nullable = false)
+    private long roomsSold; // Nights held by bookings that are not cancelled
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue; // totalAmount spread over the booking's nights
+
+    @Column(nullable = false)
+    private long cancellations; // Nights released by cancelled bookings
+}
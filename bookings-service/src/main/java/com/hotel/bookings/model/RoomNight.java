@@ -0,0 +1,68 @@
+package com.hotel.bookings.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One row per room per night held by a booking. The unique (roomId, night) key is the
+ * database-level guard against double booking, including across service instances.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "room_nights",
+        uniqueConstraints = @UniqueConstraint(name = "uk_room_night", columnNames = {"roomId", "night"}),
+        indexes = @Index(name = "idx_room_night_booking", columnList = "bookingId"))
+public class RoomNight {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    /**
+     * The nights a stay holds: every night from the check-in date up to the check-out date. Same-day
+     * stays are charged as one night, so they hold the check-in night. The availability index and the
+     * rollups use the same definition, so they agree with the unique key on what overlaps.
+     */
+    public static List<LocalDate> nightsOf(LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDate last = lastNightExclusive(checkIn, checkOut);
+        List<LocalDate> nights = new ArrayList<>();
+        for (LocalDate night = firstNight(checkIn); night.isBefore(last); night = night.plusDays(1)) {
+            nights.add(night);
+        }
+        return nights;
+    }
+
+    public static LocalDate firstNight(LocalDateTime checkIn) {
+        return checkIn.toLocalDate();
+    }
+
+    public static LocalDate lastNightExclusive(LocalDateTime checkIn, LocalDateTime checkOut) {
+        LocalDate first = firstNight(checkIn);
+        return checkOut.toLocalDate().isAfter(first) ? checkOut.toLocalDate() : first.plusDays(1);
+    }
+
+    // True if the two stays hold at least one night in common
+    public static boolean overlap(LocalDateTime checkInA, LocalDateTime checkOutA,
+                                  LocalDateTime checkInB, LocalDateTime checkOutB) {
+        return firstNight(checkInA).isBefore(lastNightExclusive(checkInB, checkOutB))
+                && firstNight(checkInB).isBefore(lastNightExclusive(checkInA, checkOutA));
+    }
+}
@@ -0,0 +1,82 @@
+package com.hotel.bookings.repository;
+
+import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.RoomNight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk imports. Hibernate cannot batch inserts for IDENTITY ids, so the
+ * rows are written directly and the generated keys read back per batch; with
+ * rewriteBatchedStatements each batch becomes a single multi-row INSERT.
+ */
+@Repository
+public class BookingBatchRepository {
+
+    private static final String INSERT_BOOKING = "INSERT INTO bookings (guest_id, room_id, check_in_date, "
+            + "check_out_date, number_of_adults, number_of_children, total_amount, status, booking_date, room_type) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ROOM_NIGHT = "INSERT INTO room_nights (room_id, night, booking_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public BookingBatchRepository(JdbcTemplate jdbcTemplate, @Value("${bookings.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Assigns the generated id to each booking
+    public void insertAll(List<Booking> bookings) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < bookings.size(); from += batchSize) {
+                    List<Booking> batch = bookings.subList(from, Math.min(from + batchSize, bookings.size()));
+                    for (Booking booking : batch) {
+                        statement.setLong(1, booking.getGuestId());
+                        statement.setLong(2, booking.getRoomId());
+                        statement.setTimestamp(3, Timestamp.valueOf(booking.getCheckInDate()));
+                        statement.setTimestamp(4, Timestamp.valueOf(booking.getCheckOutDate()));
+                        statement.setInt(5, booking.getNumberOfAdults());
+                        statement.setInt(6, booking.getNumberOfChildren());
+                        statement.setDouble(7, booking.getTotalAmount());
+                        statement.setString(8, booking.getStatus().name());
+                        statement.setTimestamp(9, now);
+                        statement.setString(10, booking.getRoomType());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (Booking booking : batch) {
+                            keys.next();
+                            booking.setId(keys.getLong(1));
+                            booking.setBookingDate(now.toLocalDateTime());
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    public void insertRoomNights(List<RoomNight> nights) {
+        jdbcTemplate.batchUpdate(INSERT_ROOM_NIGHT, nights, batchSize, (statement, night) -> {
+            statement.setLong(1, night.getRoomId());
+            statement.setDate(2, Date.valueOf(night.getNight()));
+            statement.setLong(3, night.getBookingId());
+        });
+    }
+}
@@ -2,20 +2,36 @@ package com.hotel.bookings.repository;
 
 import com.hotel.bookings.model.Booking;
 import com.hotel.bookings.model.BookingStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     Page<Booking> findByGuestId(Long guestId, Pageable pageable);
+    Slice<Booking> findByIdLessThan(Long id, Pageable pageable);
+    Slice<Booking> findByGuestIdAndIdLessThan(Long guestId, Long id, Pageable pageable);
     List<Booking> findByRoomIdAndStatus(Long roomId, BookingStatus status);
+    List<Booking> findByStatusNot(BookingStatus status);
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b ORDER BY b.id")
+    Stream<Booking> streamAll();
 
     @Query("SELECT COUNT(b) > 0 FROM Booking b " +
             "WHERE b.roomId = :roomId " +
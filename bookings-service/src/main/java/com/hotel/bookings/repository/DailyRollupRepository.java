@@ -0,0 +1,16 @@
+package com.hotel.bookings.repository;
+
+import com.hotel.bookings.model.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+
+    List<DailyRollup> findByStayDateBetweenOrderByStayDateAscRoomTypeAsc(LocalDate from, LocalDate to);
+
+    List<DailyRollup> findByRoomTypeAndStayDateBetweenOrderByStayDateAsc(String roomType, LocalDate from, LocalDate to);
+}
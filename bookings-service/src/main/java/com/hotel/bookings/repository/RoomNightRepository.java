@@ -0,0 +1,31 @@
+package com.hotel.bookings.repository;
+
+import com.hotel.bookings.model.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomNightRepository extends JpaRepository<RoomNight, Long> {
+
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.bookingId = :bookingId")
+    void deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT COUNT(n) > 0 FROM RoomNight n WHERE n.roomId = :roomId " +
+            "AND n.night >= :firstNight AND n.night < :lastNightExclusive " +
+            "AND (:excludeBookingId IS NULL OR n.bookingId <> :excludeBookingId)")
+    boolean existsHeldNight(@Param("roomId") Long roomId,
+                            @Param("firstNight") LocalDate firstNight,
+                            @Param("lastNightExclusive") LocalDate lastNightExclusive,
+                            @Param("excludeBookingId") Long excludeBookingId);
+
+    @Query("SELECT DISTINCT n.roomId FROM RoomNight n WHERE n.night >= :firstNight AND n.night < :lastNightExclusive")
+    List<Long> findHeldRoomIds(@Param("firstNight") LocalDate firstNight,
+                               @Param("lastNightExclusive") LocalDate lastNightExclusive);
+}
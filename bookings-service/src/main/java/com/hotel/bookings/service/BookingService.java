@@ -1,20 +1,31 @@
 package com.hotel.bookings.service;
 
-import com.hotel.common.exception.BookingConflictException;
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.bookings.dto.BookingRequestDTO;
 import com.hotel.bookings.dto.BookingResponseDTO;
+import com.hotel.bookings.dto.BulkBookingResponseDTO;
+import com.hotel.bookings.dto.OccupancyReportDTO;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface BookingService {
-    BookingResponseDTO createBooking(BookingRequestDTO request) throws ResourceNotFoundException, BookingConflictException;
+    CompletableFuture<BookingResponseDTO> createBooking(BookingRequestDTO request);
+    CompletableFuture<BulkBookingResponseDTO> createBookings(List<BookingRequestDTO> requests);
     void cancelBooking(Long bookingId) throws ResourceNotFoundException;
     void checkIn(Long bookingId) throws ResourceNotFoundException;
     void checkOut(Long bookingId) throws ResourceNotFoundException;
-    BookingResponseDTO getBookingById(Long id) throws ResourceNotFoundException;
-    List<BookingResponseDTO> getBookingsByGuest(Long guestId, int pageNo, int pageSize) throws ResourceNotFoundException;
-    List<BookingResponseDTO> getAllBookings(int pageNo, int pageSize) throws ResourceNotFoundException;
-    BookingResponseDTO updateBooking(Long id, BookingRequestDTO request) throws ResourceNotFoundException, BookingConflictException;
+    CompletableFuture<BookingResponseDTO> getBookingById(Long id) throws ResourceNotFoundException;
+    CompletableFuture<List<BookingResponseDTO>> getBookingsByGuest(Long guestId, int pageNo, int pageSize);
+    CompletableFuture<List<BookingResponseDTO>> getAllBookings(int pageNo, int pageSize);
+    CompletableFuture<CursorPage<BookingResponseDTO>> getBookingsAfter(Long after, int limit);
+    CompletableFuture<CursorPage<BookingResponseDTO>> getBookingsByGuestAfter(Long guestId, Long after, int limit);
+    CompletableFuture<BookingResponseDTO> updateBooking(Long id, BookingRequestDTO request);
     void deleteBooking(Long id) throws ResourceNotFoundException;
+    long exportBookings(OutputStream out);
+    OccupancyReportDTO getOccupancyReport(LocalDate from, LocalDate to, String roomType);
+    long rebuildRollups();
 }
@@ -1,99 +1,278 @@
 package com.hotel.bookings.service;
 
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.BookingConflictException;
+import com.hotel.common.export.NdjsonStreamWriter;
 import com.hotel.common.exception.ResourceNotFoundException;
+import com.hotel.bookings.analytics.BookingRollupWriter;
+import com.hotel.bookings.availability.RoomAvailabilityIndex;
+import com.hotel.bookings.availability.RoomLockManager;
+import com.hotel.bookings.availability.RoomNightGuard;
+import com.hotel.bookings.client.GuestClient;
+import com.hotel.bookings.client.RoomClient;
 import com.hotel.bookings.dto.*;
+import com.hotel.bookings.event.BookingChangedEvent;
+import com.hotel.bookings.event.BookingSnapshot;
 import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.DailyRollup;
 import com.hotel.bookings.model.BookingStatus;
+import com.hotel.bookings.model.RoomNight;
+import com.hotel.bookings.repository.BookingBatchRepository;
 import com.hotel.bookings.repository.BookingRepository;
+import com.hotel.bookings.repository.DailyRollupRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_REPORT_DAYS = 400;
+
     private final BookingRepository bookingRepository;
-    private final RestTemplate restTemplate;
+    private final BookingBatchRepository bookingBatchRepository;
+    private final GuestClient guestClient;
+    private final RoomClient roomClient;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomLockManager roomLocks;
+    private final RoomNightGuard roomNightGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final NdjsonStreamWriter ndjsonWriter;
+    private final EntityManager entityManager;
+    private final DailyRollupRepository rollupRepository;
+    private final BookingRollupWriter rollupWriter;
+    private final BookingWorkPool workPool;
+    private final int bulkRoomsPerChunk;
+
+    public BookingServiceImpl(BookingRepository bookingRepository, BookingBatchRepository bookingBatchRepository,
+                              GuestClient guestClient, RoomClient roomClient,
+                              RoomAvailabilityIndex availabilityIndex, ApplicationEventPublisher eventPublisher,
+                              RoomLockManager roomLocks, RoomNightGuard roomNightGuard,
+                              TransactionTemplate transactionTemplate, NdjsonStreamWriter ndjsonWriter,
+                              EntityManager entityManager, DailyRollupRepository rollupRepository,
+                              BookingRollupWriter rollupWriter, BookingWorkPool workPool,
+                              @Value("${bookings.bulk.rooms-per-chunk:50}") int bulkRoomsPerChunk) {
+        this.bookingRepository = bookingRepository;
+        this.bookingBatchRepository = bookingBatchRepository;
+        this.guestClient = guestClient;
+        this.roomClient = roomClient;
+        this.availabilityIndex = availabilityIndex;
+        this.eventPublisher = eventPublisher;
+        this.roomLocks = roomLocks;
+        this.roomNightGuard = roomNightGuard;
+        this.transactionTemplate = transactionTemplate;
+        this.ndjsonWriter = ndjsonWriter;
+        this.entityManager = entityManager;
+        this.rollupRepository = rollupRepository;
+        this.rollupWriter = rollupWriter;
+        this.workPool = workPool;
+        this.bulkRoomsPerChunk = bulkRoomsPerChunk;
+    }
+
+    @Override
+    public CompletableFuture<BookingResponseDTO> createBooking(BookingRequestDTO request) {
+        // Fetch guest and room details from guests-service and rooms-service in parallel; the
+        // reservation itself runs on the work pool once both have answered
+        return workPool.afterLookups(fetchGuestAndRoom(request.getGuestId(), request.getRoomId()), details -> {
+            GuestResponseDTO guest = details.guest();
+            RoomResponseDTO room = details.room();
+
+            if (guest == null) {
+                throw new ResourceNotFoundException("Guest not found with ID: " + request.getGuestId());
+            }
 
-    @Value("${guests.service.url:http://localhost:8083}")
-    private String guestsServiceUrl;
+            if (room == null) {
+                throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
+            }
 
-    @Value("${rooms.service.url:http://localhost:8082}")
-    private String roomsServiceUrl;
+            if ("MAINTENANCE".equals(room.getStatus())) {
+                throw new IllegalStateException("Room " + room.getRoomNumber() + " is under maintenance and cannot be booked.");
+            }
 
-    public BookingServiceImpl(BookingRepository bookingRepository, RestTemplate restTemplate) {
-        this.bookingRepository = bookingRepository;
-        this.restTemplate = restTemplate;
+            if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+                throw new IllegalArgumentException("Check-out date must be after check-in date");
+            }
+
+            Double totalAmount = calculateTotal(room, request.getCheckInDate(), request.getCheckOutDate());
+
+            Booking booking = new Booking();
+            booking.setGuestId(request.getGuestId());
+            booking.setRoomId(request.getRoomId());
+            booking.setCheckInDate(request.getCheckInDate());
+            booking.setCheckOutDate(request.getCheckOutDate());
+            booking.setNumberOfAdults(request.getNumberOfAdults());
+            booking.setNumberOfChildren(request.getNumberOfChildren());
+            booking.setTotalAmount(totalAmount);
+            booking.setRoomType(room.getRoomType());
+            booking.setStatus(BookingStatus.RESERVED);
+
+            Booking savedBooking = reserve(List.of(request.getRoomId()), null, booking, true);
+            return mapToDTO(savedBooking, guest, room);
+        });
     }
 
     @Override
-    @Transactional
-    public BookingResponseDTO createBooking(BookingRequestDTO request) 
-            throws BookingConflictException, ResourceNotFoundException {
-        
-        // Call guests-service to get guest details
-        GuestResponseDTO guest = restTemplate.getForObject(
-                guestsServiceUrl + "/api/guests/" + request.getGuestId(),
-                GuestResponseDTO.class);
+    public CompletableFuture<BulkBookingResponseDTO> createBookings(List<BookingRequestDTO> requests) {
+        Set<Long> guestIds = requests.stream().map(BookingRequestDTO::getGuestId).collect(Collectors.toSet());
+        Set<Long> roomIds = requests.stream().map(BookingRequestDTO::getRoomId).collect(Collectors.toSet());
+
+        // One batch lookup per service for the whole import
+        return workPool.afterLookups(Mono.zip(guestClient.getGuests(guestIds), roomClient.getRooms(roomIds)).toFuture(), lookups -> {
+            Map<Long, GuestResponseDTO> guests = lookups.getT1();
+            Map<Long, RoomResponseDTO> rooms = lookups.getT2();
+
+            BulkBookingResultDTO[] results = new BulkBookingResultDTO[requests.size()];
+            List<BulkCandidate> candidates = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                BookingRequestDTO request = requests.get(i);
+                RoomResponseDTO room = rooms.get(request.getRoomId());
+                String error = validateBulkItem(request, guests.get(request.getGuestId()), room);
+                if (error != null) {
+                    results[i] = rejected(i, error);
+                    continue;
+                }
+
+                Booking booking = new Booking();
+                booking.setGuestId(request.getGuestId());
+                booking.setRoomId(request.getRoomId());
+                booking.setCheckInDate(request.getCheckInDate());
+                booking.setCheckOutDate(request.getCheckOutDate());
+                booking.setNumberOfAdults(request.getNumberOfAdults());
+                booking.setNumberOfChildren(request.getNumberOfChildren() != null ? request.getNumberOfChildren() : 0);
+                booking.setTotalAmount(calculateTotal(room, request.getCheckInDate(), request.getCheckOutDate()));
+                booking.setRoomType(room.getRoomType());
+                booking.setStatus(BookingStatus.RESERVED);
+                candidates.add(new BulkCandidate(i, booking));
+            }
 
-        if (guest == null) {
-            throw new ResourceNotFoundException("Guest not found with ID: " + request.getGuestId());
+            // Rooms are locked and written a bounded chunk at a time, so a large import neither holds every
+            // room's lock for its whole duration nor loses everything to one conflict
+            Map<Long, List<BulkCandidate>> candidatesByRoom = candidates.stream()
+                    .collect(Collectors.groupingBy(c -> c.booking().getRoomId(), LinkedHashMap::new, Collectors.toList()));
+            List<Long> roomOrder = new ArrayList<>(candidatesByRoom.keySet());
+            for (int from = 0; from < roomOrder.size(); from += bulkRoomsPerChunk) {
+                List<Long> chunkRooms = roomOrder.subList(from, Math.min(from + bulkRoomsPerChunk, roomOrder.size()));
+                List<BulkCandidate> chunk = chunkRooms.stream()
+                        .flatMap(roomId -> candidatesByRoom.get(roomId).stream())
+                        .toList();
+                reserveChunk(chunkRooms, chunk, results);
+            }
+
+            int created = (int) Arrays.stream(results).filter(r -> BulkBookingResultDTO.CREATED.equals(r.getStatus())).count();
+            return new BulkBookingResponseDTO(created, results.length - created, Arrays.asList(results));
+        });
+    }
+
+    private void reserveChunk(List<Long> roomIds, List<BulkCandidate> chunk, BulkBookingResultDTO[] results) {
+        try {
+            roomLocks.withRoomLocks(roomIds, () -> transactionTemplate.execute(status -> {
+                reserveAll(chunk, results);
+                return null;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance took one of the nights; the chunk was rolled back, so redo it item by item
+            // and reject only the items that actually conflict
+            for (BulkCandidate candidate : chunk) {
+                candidate.booking().setId(null);
+                try {
+                    Booking saved = reserve(List.of(candidate.booking().getRoomId()), null, candidate.booking(), true);
+                    results[candidate.index()] = new BulkBookingResultDTO(
+                            candidate.index(), BulkBookingResultDTO.CREATED, saved.getId(), null);
+                } catch (BookingConflictException conflict) {
+                    results[candidate.index()] = rejected(candidate.index(), conflict.getMessage());
+                }
+            }
         }
+    }
 
-        // Call rooms-service to get room details
-        RoomResponseDTO room = restTemplate.getForObject(
-                roomsServiceUrl + "/api/rooms/" + request.getRoomId(),
-                RoomResponseDTO.class);
+    // Checks every candidate against the index and the earlier items of the same import, then batch-inserts the rest
+    private void reserveAll(List<BulkCandidate> candidates, BulkBookingResultDTO[] results) {
+        Map<Long, List<Booking>> acceptedByRoom = new HashMap<>();
+        List<Booking> accepted = new ArrayList<>();
+        for (BulkCandidate candidate : candidates) {
+            Booking booking = candidate.booking();
+            List<Booking> roomBatch = acceptedByRoom.computeIfAbsent(booking.getRoomId(), id -> new ArrayList<>());
+            boolean overlapsBatch = roomBatch.stream().anyMatch(other -> RoomNight.overlap(
+                    other.getCheckInDate(), other.getCheckOutDate(), booking.getCheckInDate(), booking.getCheckOutDate()));
+
+            if (overlapsBatch || availabilityIndex.hasConflict(
+                    booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate(), null)) {
+                results[candidate.index()] = rejected(candidate.index(), "Room is already booked for these dates!");
+                continue;
+            }
+            roomBatch.add(booking);
+            accepted.add(booking);
+        }
 
-        if (room == null) {
-            throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
+        bookingBatchRepository.insertAll(accepted);
+        List<RoomNight> nights = new ArrayList<>();
+        for (Booking booking : accepted) {
+            RoomNight.nightsOf(booking.getCheckInDate(), booking.getCheckOutDate())
+                    .forEach(night -> nights.add(new RoomNight(null, booking.getRoomId(), night, booking.getId())));
         }
+        bookingBatchRepository.insertRoomNights(nights);
+
+        for (BulkCandidate candidate : candidates) {
+            Booking booking = candidate.booking();
+            if (booking.getId() != null) {
+                results[candidate.index()] = new BulkBookingResultDTO(
+                        candidate.index(), BulkBookingResultDTO.CREATED, booking.getId(), null);
+                eventPublisher.publishEvent(new BookingChangedEvent(null, BookingSnapshot.of(booking)));
+            }
+        }
+    }
 
+    private String validateBulkItem(BookingRequestDTO request, GuestResponseDTO guest, RoomResponseDTO room) {
+        if (guest == null) {
+            return "Guest not found with ID: " + request.getGuestId();
+        }
+        if (room == null) {
+            return "Room not found with ID: " + request.getRoomId();
+        }
         if ("MAINTENANCE".equals(room.getStatus())) {
-            throw new IllegalStateException("Room " + room.getRoomNumber() + " is under maintenance and cannot be booked.");
+            return "Room " + room.getRoomNumber() + " is under maintenance and cannot be booked.";
         }
-
         if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
-            throw new IllegalArgumentException("Check-out date must be after check-in date");
+            return "Check-out date must be after check-in date";
         }
+        return null;
+    }
 
-        boolean isOccupied = bookingRepository.existsOverlappingBooking(
-                request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate());
-
-        if (isOccupied) {
-            throw new BookingConflictException("Room is already booked for these dates!");
-        }
+    private static BulkBookingResultDTO rejected(int index, String message) {
+        return new BulkBookingResultDTO(index, BulkBookingResultDTO.REJECTED, null, message);
+    }
 
-        long days = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
-        if (days == 0) days = 1;
-        Double totalAmount = room.getPrice() * days;
-
-        Booking booking = new Booking();
-        booking.setGuestId(request.getGuestId());
-        booking.setRoomId(request.getRoomId());
-        booking.setCheckInDate(request.getCheckInDate());
-        booking.setCheckOutDate(request.getCheckOutDate());
-        booking.setNumberOfAdults(request.getNumberOfAdults());
-        booking.setNumberOfChildren(request.getNumberOfChildren());
-        booking.setTotalAmount(totalAmount);
-        booking.setStatus(BookingStatus.RESERVED);
-
-        Booking savedBooking = bookingRepository.save(booking);
-        return mapToDTO(savedBooking, guest, room);
+    private record BulkCandidate(int index, Booking booking) {
     }
 
     @Override
@@ -106,8 +285,11 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalStateException("Cannot cancel a completed booking.");
         }
 
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        roomNightGuard.release(bookingId);
+        eventPublisher.publishEvent(new BookingChangedEvent(before, BookingSnapshot.of(booking)));
     }
 
     @Override
@@ -132,8 +314,10 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalStateException("Booking expired. Cannot check-in.");
         }
 
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setStatus(BookingStatus.CHECKED_IN);
         bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(before, BookingSnapshot.of(booking)));
     }
 
     @Override
@@ -146,123 +330,99 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalStateException("Guest has not checked in yet.");
         }
 
+        BookingSnapshot before = BookingSnapshot.of(booking);
         booking.setStatus(BookingStatus.CHECKED_OUT);
         bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(before, BookingSnapshot.of(booking)));
     }
 
     @Override
-    public BookingResponseDTO getBookingById(Long id) throws ResourceNotFoundException {
+    public CompletableFuture<BookingResponseDTO> getBookingById(Long id) throws ResourceNotFoundException {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + id));
-        
-        GuestResponseDTO guest = restTemplate.getForObject(
-                guestsServiceUrl + "/api/guests/" + booking.getGuestId(),
-                GuestResponseDTO.class);
-        
-        RoomResponseDTO room = restTemplate.getForObject(
-                roomsServiceUrl + "/api/rooms/" + booking.getRoomId(),
-                RoomResponseDTO.class);
-        
-        return mapToDTO(booking, guest, room);
+
+        return fetchGuestAndRoom(booking.getGuestId(), booking.getRoomId())
+                .thenApply(details -> mapToDTO(booking, details.guest(), details.room()));
     }
 
     @Override
-    public List<BookingResponseDTO> getBookingsByGuest(Long guestId, int pageNo, int pageSize) 
-            throws ResourceNotFoundException {
+    public CompletableFuture<List<BookingResponseDTO>> getBookingsByGuest(Long guestId, int pageNo, int pageSize) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(Sort.Direction.DESC, "id"));
         Page<Booking> bookingsPage = bookingRepository.findByGuestId(guestId, pageable);
 
-        return bookingsPage.getContent().stream()
-                .map(booking -> {
-                    GuestResponseDTO guest = restTemplate.getForObject(
-                            guestsServiceUrl + "/api/guests/" + booking.getGuestId(),
-                            GuestResponseDTO.class);
-                    RoomResponseDTO room = restTemplate.getForObject(
-                            roomsServiceUrl + "/api/rooms/" + booking.getRoomId(),
-                            RoomResponseDTO.class);
-                    return mapToDTO(booking, guest, room);
-                })
-                .collect(Collectors.toList());
+        return mapToDTOs(bookingsPage.getContent());
     }
 
     @Override
-    public List<BookingResponseDTO> getAllBookings(int pageNo, int pageSize) throws ResourceNotFoundException {
+    public CompletableFuture<List<BookingResponseDTO>> getAllBookings(int pageNo, int pageSize) {
         Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(Sort.Direction.DESC, "id"));
         Page<Booking> bookingsPage = bookingRepository.findAll(pageable);
 
-        return bookingsPage.getContent().stream()
-                .map(booking -> {
-                    GuestResponseDTO guest = restTemplate.getForObject(
-                            guestsServiceUrl + "/api/guests/" + booking.getGuestId(),
-                            GuestResponseDTO.class);
-                    RoomResponseDTO room = restTemplate.getForObject(
-                            roomsServiceUrl + "/api/rooms/" + booking.getRoomId(),
-                            RoomResponseDTO.class);
-                    return mapToDTO(booking, guest, room);
-                })
-                .collect(Collectors.toList());
+        return mapToDTOs(bookingsPage.getContent());
     }
 
+    // Keyset pagination, newest first: the cursor is the last id seen and no count query is issued
     @Override
-    @Transactional
-    public BookingResponseDTO updateBooking(Long id, BookingRequestDTO request) 
-            throws ResourceNotFoundException, BookingConflictException {
-        
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + id));
-
-        GuestResponseDTO guest = restTemplate.getForObject(
-                guestsServiceUrl + "/api/guests/" + request.getGuestId(),
-                GuestResponseDTO.class);
+    public CompletableFuture<CursorPage<BookingResponseDTO>> getBookingsAfter(Long after, int limit) {
+        Slice<Booking> slice = bookingRepository.findByIdLessThan(
+                after != null ? after : Long.MAX_VALUE, CursorPage.request(limit, "id", Sort.Direction.DESC));
+        return mapToDTOs(slice.getContent()).thenApply(items -> CursorPage.ofList(slice, content -> items, Booking::getId));
+    }
 
-        if (guest == null) {
-            throw new ResourceNotFoundException("Guest not found with ID: " + request.getGuestId());
-        }
+    @Override
+    public CompletableFuture<CursorPage<BookingResponseDTO>> getBookingsByGuestAfter(Long guestId, Long after, int limit) {
+        Slice<Booking> slice = bookingRepository.findByGuestIdAndIdLessThan(guestId,
+                after != null ? after : Long.MAX_VALUE, CursorPage.request(limit, "id", Sort.Direction.DESC));
+        return mapToDTOs(slice.getContent()).thenApply(items -> CursorPage.ofList(slice, content -> items, Booking::getId));
+    }
 
-        // Call rooms-service to get room details
-        RoomResponseDTO room = restTemplate.getForObject(
-                roomsServiceUrl + "/api/rooms/" + request.getRoomId(),
-                RoomResponseDTO.class);
+    @Override
+    public CompletableFuture<BookingResponseDTO> updateBooking(Long id, BookingRequestDTO request) {
+        // The booking is read on the work pool with the rest of the update, after the lookups
+        return workPool.afterLookups(fetchGuestAndRoom(request.getGuestId(), request.getRoomId()), details -> {
+            Booking booking = bookingRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + id));
 
-        if (room == null) {
-            throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
-        }
+            GuestResponseDTO guest = details.guest();
+            RoomResponseDTO room = details.room();
 
-        if ("MAINTENANCE".equals(room.getStatus())) {
-            throw new IllegalStateException("Room " + room.getRoomNumber() + " is under maintenance and cannot be booked.");
-        }
+            if (guest == null) {
+                throw new ResourceNotFoundException("Guest not found with ID: " + request.getGuestId());
+            }
 
-        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
-            throw new IllegalArgumentException("Check-out date must be after check-in date");
-        }
+            if (room == null) {
+                throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
+            }
 
-        // Check for conflicts only if dates or room changed
-        if (!booking.getRoomId().equals(request.getRoomId()) || 
-            !booking.getCheckInDate().equals(request.getCheckInDate()) || 
-            !booking.getCheckOutDate().equals(request.getCheckOutDate())) {
-            
-            boolean isOccupied = bookingRepository.existsOverlappingBooking(
-                    request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate(), id);
+            if ("MAINTENANCE".equals(room.getStatus())) {
+                throw new IllegalStateException("Room " + room.getRoomNumber() + " is under maintenance and cannot be booked.");
+            }
 
-            if (isOccupied) {
-                throw new BookingConflictException("Room is already booked for these dates!");
+            if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+                throw new IllegalArgumentException("Check-out date must be after check-in date");
             }
-        }
 
-        long days = ChronoUnit.DAYS.between(request.getCheckInDate(), request.getCheckOutDate());
-        if (days == 0) days = 1;
-        Double totalAmount = room.getPrice() * days;
-
-        booking.setGuestId(request.getGuestId());
-        booking.setRoomId(request.getRoomId());
-        booking.setCheckInDate(request.getCheckInDate());
-        booking.setCheckOutDate(request.getCheckOutDate());
-        booking.setNumberOfAdults(request.getNumberOfAdults());
-        booking.setNumberOfChildren(request.getNumberOfChildren());
-        booking.setTotalAmount(totalAmount);
-
-        Booking savedBooking = bookingRepository.save(booking);
-        return mapToDTO(savedBooking, guest, room);
+            // Check for conflicts only if dates or room changed
+            boolean staysChanged = !booking.getRoomId().equals(request.getRoomId()) ||
+                !booking.getCheckInDate().equals(request.getCheckInDate()) ||
+                !booking.getCheckOutDate().equals(request.getCheckOutDate());
+            Long previousRoomId = booking.getRoomId();
+
+            Double totalAmount = calculateTotal(room, request.getCheckInDate(), request.getCheckOutDate());
+
+            BookingSnapshot before = BookingSnapshot.of(booking);
+            booking.setGuestId(request.getGuestId());
+            booking.setRoomId(request.getRoomId());
+            booking.setCheckInDate(request.getCheckInDate());
+            booking.setCheckOutDate(request.getCheckOutDate());
+            booking.setNumberOfAdults(request.getNumberOfAdults());
+            booking.setNumberOfChildren(request.getNumberOfChildren());
+            booking.setTotalAmount(totalAmount);
+            booking.setRoomType(room.getRoomType());
+
+            Booking savedBooking = reserve(List.of(previousRoomId, request.getRoomId()), before, booking, staysChanged);
+            return mapToDTO(savedBooking, guest, room);
+        });
     }
 
     @Override
@@ -276,6 +436,115 @@ public class BookingServiceImpl implements BookingService {
         }
 
         bookingRepository.delete(booking);
+        roomNightGuard.release(id);
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingSnapshot.of(booking), null));
+    }
+
+    /**
+     * Re-checks availability and writes the booking with its night rows while holding the room locks.
+     * Downstream lookups stay outside so no connection or lock is held across network calls. The local
+     * lock serializes writers in this instance; the unique night rows catch writers in other instances.
+     */
+    private Booking reserve(Collection<Long> roomIds, BookingSnapshot before, Booking booking, boolean checkConflicts)
+            throws BookingConflictException {
+        Booking savedBooking;
+        try {
+            savedBooking = roomLocks.withRoomLocks(roomIds, () -> transactionTemplate.execute(status -> {
+                if (checkConflicts && availabilityIndex.hasConflict(booking.getRoomId(),
+                        booking.getCheckInDate(), booking.getCheckOutDate(), booking.getId())) {
+                    return null;
+                }
+                Booking saved = bookingRepository.save(booking);
+                roomNightGuard.hold(saved);
+                eventPublisher.publishEvent(new BookingChangedEvent(before, BookingSnapshot.of(saved)));
+                return saved;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            savedBooking = null;
+        }
+
+        if (savedBooking == null) {
+            throw new BookingConflictException("Room is already booked for these dates!");
+        }
+        return savedBooking;
+    }
+
+    private Double calculateTotal(RoomResponseDTO room, LocalDateTime checkIn, LocalDateTime checkOut) {
+        long days = ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (days == 0) days = 1;
+        return room.getPrice() * days;
+    }
+
+    // Streams the whole table through a forward-only cursor; each row is detached once written
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookings(OutputStream out) {
+        try (Stream<Booking> bookings = bookingRepository.streamAll()) {
+            return ndjsonWriter.write(bookings, BookingExportDTO::of, entityManager::detach, out);
+        }
+    }
+
+    // Reads only the precomputed daily rollups; the bookings table is not touched
+    @Override
+    @Transactional(readOnly = true)
+    public OccupancyReportDTO getOccupancyReport(LocalDate from, LocalDate to, String roomType) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("Date range must be ascending and at most " + MAX_REPORT_DAYS + " days");
+        }
+        List<DailyRollup> rollups = roomType == null || roomType.isBlank()
+                ? rollupRepository.findByStayDateBetweenOrderByStayDateAscRoomTypeAsc(from, to)
+                : rollupRepository.findByRoomTypeAndStayDateBetweenOrderByStayDateAsc(roomType.trim().toUpperCase(), from, to);
+
+        long roomsSold = 0;
+        long cancellations = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (DailyRollup rollup : rollups) {
+            roomsSold += rollup.getRoomsSold();
+            cancellations += rollup.getCancellations();
+            revenue = revenue.add(rollup.getRevenue());
+        }
+        BigDecimal averageDailyRate = roomsSold == 0
+                ? BigDecimal.ZERO
+                : revenue.divide(BigDecimal.valueOf(roomsSold), 2, RoundingMode.HALF_UP);
+
+        return new OccupancyReportDTO(from, to, roomType == null || roomType.isBlank() ? null : roomType.trim().toUpperCase(),
+                roomsSold, revenue, cancellations, averageDailyRate,
+                rollups.stream().map(DailyRollupDTO::of).collect(Collectors.toList()));
+    }
+
+    @Override
+    public long rebuildRollups() {
+        return rollupWriter.rebuild();
+    }
+
+    // Resolves guests and rooms for a whole page with one batch call per service, issued concurrently
+    private CompletableFuture<List<BookingResponseDTO>> mapToDTOs(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        Set<Long> guestIds = bookings.stream().map(Booking::getGuestId).collect(Collectors.toSet());
+        Set<Long> roomIds = bookings.stream().map(Booking::getRoomId).collect(Collectors.toSet());
+
+        return Mono.zip(guestClient.getGuests(guestIds), roomClient.getRooms(roomIds)).toFuture().thenApply(lookups -> {
+            Map<Long, GuestResponseDTO> guests = lookups.getT1();
+            Map<Long, RoomResponseDTO> rooms = lookups.getT2();
+            return bookings.stream()
+                    .map(booking -> mapToDTO(booking, guests.get(booking.getGuestId()), rooms.get(booking.getRoomId())))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    // Latency is the slower of the two lookups rather than their sum; either side may be missing
+    private CompletableFuture<GuestAndRoom> fetchGuestAndRoom(Long guestId, Long roomId) {
+        return Mono.zip(
+                        guestClient.getGuest(guestId).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        roomClient.getRoom(roomId).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .map(tuple -> new GuestAndRoom(tuple.getT1().orElse(null), tuple.getT2().orElse(null)))
+                .toFuture();
+    }
+
+    private record GuestAndRoom(GuestResponseDTO guest, RoomResponseDTO room) {
     }
 
     private BookingResponseDTO mapToDTO(Booking booking, GuestResponseDTO guest, RoomResponseDTO room) {
@@ -0,0 +1,68 @@
+package com.hotel.bookings.service;
+
+import com.hotel.common.exception.BookingConflictException;
+import com.hotel.common.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the database part of a booking request once its guests-service and rooms-service lookups have
+ * completed. Request threads hand off to the lookups and return, so a slow downstream service holds
+ * neither a Tomcat worker nor a pooled connection. The pool and its queue are bounded; when the queue
+ * is full the request fails with 503.
+ */
+@Component
+public class BookingWorkPool {
+
+    private final ThreadPoolExecutor executor;
+
+    public BookingWorkPool(@Value("${bookings.workers.threads:10}") int threads,
+                           @Value("${bookings.workers.queue-capacity:500}") int queueCapacity) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "booking-worker-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    throw new ResponseStatusException(
+                            HttpStatus.SERVICE_UNAVAILABLE, "Too many booking requests in progress, please retry shortly");
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Applies {@code work} to the lookup result on the pool. Checked failures complete the returned
+     * future with a CompletionException carrying them, which Spring MVC unwraps.
+     */
+    public <L, T> CompletableFuture<T> afterLookups(CompletableFuture<L> lookups, Work<L, T> work) {
+        return lookups.thenApplyAsync(result -> {
+            try {
+                return work.apply(result);
+            } catch (ResourceNotFoundException | BookingConflictException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    @FunctionalInterface
+    public interface Work<L, T> {
+        T apply(L lookups) throws ResourceNotFoundException, BookingConflictException;
+    }
+}
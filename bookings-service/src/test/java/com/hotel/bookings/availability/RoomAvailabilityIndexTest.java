@@ -0,0 +1,56 @@
+package com.hotel.bookings.availability;
+
+import com.hotel.bookings.event.BookingChangedEvent;
+import com.hotel.bookings.event.BookingSnapshot;
+import com.hotel.bookings.model.BookingStatus;
+import com.hotel.bookings.repository.BookingRepository;
+import com.hotel.bookings.repository.RoomNightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 10, 0, 0);
+
+    private RoomAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findByStatusNot(BookingStatus.CANCELLED)).thenReturn(List.of());
+        index = new RoomAvailabilityIndex(bookingRepository, mock(RoomNightRepository.class), true);
+        index.load();
+    }
+
+    @Test
+    void lateCheckOutDoesNotBlockTheNextNight() {
+        // Holds only the night of the 10th
+        hold(1L, DAY.plusHours(14), DAY.plusDays(1).plusHours(11));
+
+        assertFalse(index.hasConflict(7L, DAY.plusDays(1).plusHours(9), DAY.plusDays(2).plusHours(10), null));
+        assertTrue(index.hasConflict(7L, DAY.plusHours(20), DAY.plusDays(1).plusHours(8), null));
+    }
+
+    @Test
+    void sameDayStayHoldsItsCheckInNight() {
+        hold(1L, DAY.plusHours(9), DAY.plusHours(17));
+
+        assertTrue(index.hasConflict(7L, DAY.plusHours(18), DAY.plusHours(22), null));
+        assertTrue(index.hasConflict(7L, DAY.minusDays(1).plusHours(14), DAY.plusDays(1).plusHours(10), null));
+        assertFalse(index.hasConflict(7L, DAY.plusDays(1).plusHours(8), DAY.plusDays(1).plusHours(12), null));
+        assertFalse(index.hasConflict(7L, DAY.plusHours(18), DAY.plusHours(22), 1L));
+    }
+
+    private void hold(Long bookingId, LocalDateTime checkIn, LocalDateTime checkOut) {
+        index.onBookingChanged(new BookingChangedEvent(null, new BookingSnapshot(
+                bookingId, 7L, checkIn, checkOut, BookingStatus.RESERVED, 100.0, "DELUXE")));
+    }
+}
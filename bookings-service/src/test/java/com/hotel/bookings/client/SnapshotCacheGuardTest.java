@@ -0,0 +1,34 @@
+package com.hotel.bookings.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SnapshotCacheGuardTest {
+
+    private final Cache<Long, String> cache = Caffeine.newBuilder().build();
+    private final SnapshotCacheGuard<String> guard = new SnapshotCacheGuard<>(cache);
+
+    @Test
+    void lookupFinishingAfterInvalidationIsNotCached() {
+        long generation = guard.generation(1L);
+        guard.invalidate(1L);
+
+        guard.putIfCurrent(1L, "stale", generation);
+
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    @Test
+    void lookupWithoutInterveningInvalidationIsCached() {
+        guard.invalidate(1L);
+        long generation = guard.generation(1L);
+
+        guard.putIfCurrent(1L, "fresh", generation);
+
+        assertEquals("fresh", cache.getIfPresent(1L));
+    }
+}
@@ -0,0 +1,115 @@
+package com.hotel.bookings.controller;
+
+import com.hotel.bookings.availability.RoomAvailabilityIndex;
+import com.hotel.bookings.config.SecurityConfig;
+import com.hotel.common.security.GatewayIdentityVerifier;
+import com.hotel.common.security.JwtUtils;
+import com.hotel.common.security.ServiceIdentityInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AvailabilityController.class)
+@Import({SecurityConfig.class, GatewayIdentityVerifier.class, ServiceIdentityInterceptor.class})
+@TestPropertySource(properties = {
+        "spring.application.name=rooms-service",
+        "gateway.identity.secret=test-identity-secret-0123456789abcdef"
+})
+class AvailabilityControllerSecurityTest {
+
+    private static final String OCCUPIED_ROOMS = "/internal/availability/occupied-rooms";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServiceIdentityInterceptor serviceIdentityInterceptor;
+
+    @Autowired
+    private GatewayIdentityVerifier identityVerifier;
+
+    @MockBean
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @MockBean
+    private JwtUtils jwtUtils;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @Test
+    void serviceSignedCallIsAnswered() throws Exception {
+        when(availabilityIndex.findOccupiedRooms(any(LocalDate.class), any(LocalDate.class))).thenReturn(Set.of(7L));
+
+        mockMvc.perform(get(OCCUPIED_ROOMS)
+                        .param("checkIn", "2026-01-10")
+                        .param("checkOut", "2026-01-12")
+                        .headers(signedByRoomsService("http://localhost:8084" + OCCUPIED_ROOMS
+                                + "?checkIn=2026-01-10&checkOut=2026-01-12")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[7]"));
+    }
+
+    @Test
+    void unsignedCallIsRejected() throws Exception {
+        mockMvc.perform(get(OCCUPIED_ROOMS)
+                        .param("checkIn", "2026-01-10")
+                        .param("checkOut", "2026-01-12"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void serviceSignatureForAnotherPathIsRejected() throws Exception {
+        mockMvc.perform(get(OCCUPIED_ROOMS)
+                        .param("checkIn", "2026-01-10")
+                        .param("checkOut", "2026-01-12")
+                        .headers(signedByRoomsService("http://localhost:8084/internal/availability/other")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void userIdentityCannotCallInternalEndpoints() throws Exception {
+        long issuedAt = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(GatewayIdentityVerifier.USER_HEADER, "manager");
+        headers.set(GatewayIdentityVerifier.USER_ID_HEADER, "1");
+        headers.set(GatewayIdentityVerifier.ROLES_HEADER, "ROLE_MANAGER");
+        headers.set(GatewayIdentityVerifier.ISSUED_AT_HEADER, String.valueOf(issuedAt));
+        headers.set(GatewayIdentityVerifier.SIGNATURE_HEADER,
+                identityVerifier.sign("manager", "1", "ROLE_MANAGER", issuedAt, "GET", OCCUPIED_ROOMS));
+
+        mockMvc.perform(get(OCCUPIED_ROOMS)
+                        .param("checkIn", "2026-01-10")
+                        .param("checkOut", "2026-01-12")
+                        .headers(headers))
+                .andExpect(status().isForbidden());
+    }
+
+    // Runs the interceptor the shared RestTemplate uses and returns the headers it would send
+    private HttpHeaders signedByRoomsService(String url) throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(url));
+        serviceIdentityInterceptor.intercept(request, new byte[0],
+                (sent, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        return request.getHeaders();
+    }
+}
@@ -0,0 +1,92 @@
+package com.hotel.bookings.controller;
+
+import com.hotel.bookings.config.SecurityConfig;
+import com.hotel.bookings.dto.BookingResponseDTO;
+import com.hotel.bookings.service.BookingService;
+import com.hotel.common.exception.BookingConflictException;
+import com.hotel.common.security.GatewayIdentityVerifier;
+import com.hotel.common.security.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+@Import({SecurityConfig.class, GatewayIdentityVerifier.class})
+@TestPropertySource(properties = "gateway.identity.secret=test-identity-secret-0123456789abcdef")
+class BookingControllerAsyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GatewayIdentityVerifier identityVerifier;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private JwtUtils jwtUtils;
+
+    @MockBean
+    private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @Test
+    void lookupRequestReleasesTheRequestThreadAndCompletesOnDispatch() throws Exception {
+        CompletableFuture<BookingResponseDTO> pending = new CompletableFuture<>();
+        when(bookingService.getBookingById(7L)).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(get("/api/bookings/7").headers(signedAsManager("GET", "/api/bookings/7")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        BookingResponseDTO booking = new BookingResponseDTO();
+        booking.setId(7L);
+        pending.complete(booking);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void failedWorkSurfacesItsCause() throws Exception {
+        when(bookingService.getBookingById(8L)).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new BookingConflictException("Room is already booked for these dates!"))));
+
+        MvcResult result = mockMvc.perform(get("/api/bookings/8").headers(signedAsManager("GET", "/api/bookings/8")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertInstanceOf(BookingConflictException.class, result.getAsyncResult());
+    }
+
+    private HttpHeaders signedAsManager(String method, String path) {
+        long issuedAt = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(GatewayIdentityVerifier.USER_HEADER, "manager");
+        headers.set(GatewayIdentityVerifier.USER_ID_HEADER, "1");
+        headers.set(GatewayIdentityVerifier.ROLES_HEADER, "ROLE_MANAGER");
+        headers.set(GatewayIdentityVerifier.ISSUED_AT_HEADER, String.valueOf(issuedAt));
+        headers.set(GatewayIdentityVerifier.SIGNATURE_HEADER,
+                identityVerifier.sign("manager", "1", "ROLE_MANAGER", issuedAt, method, path));
+        return headers;
+    }
+}
@@ -0,0 +1,214 @@
+package com.hotel.bookings.service;
+
+import com.hotel.bookings.client.GuestClient;
+import com.hotel.bookings.client.RoomClient;
+import com.hotel.bookings.dto.BookingRequestDTO;
+import com.hotel.bookings.dto.BulkBookingResponseDTO;
+import com.hotel.bookings.dto.BulkBookingResultDTO;
+import com.hotel.bookings.dto.GuestResponseDTO;
+import com.hotel.bookings.dto.RoomResponseDTO;
+import com.hotel.bookings.model.Booking;
+import com.hotel.bookings.model.BookingStatus;
+import com.hotel.bookings.model.RoomNight;
+import com.hotel.bookings.repository.BookingRepository;
+import com.hotel.common.exception.BookingConflictException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservations racing other writers, run twice: with the striped in-process locks, as a single
+ * instance runs, and without them, so the room_nights unique key is the only thing arbitrating
+ * between writers, as it is across service instances.
+ */
+class BookingConcurrencyTest {
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:bookings_locked;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+            "bookings.concurrency.striped-locks=true"
+    })
+    class WithStripedLocks extends Scenarios {
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:bookings_unlocked;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+            "bookings.concurrency.striped-locks=false"
+    })
+    class UniqueKeyOnly extends Scenarios {
+    }
+
+    @SpringBootTest
+    @TestPropertySource(properties = {
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.show-sql=false",
+            "eureka.client.enabled=false",
+            "jwt.revocation.sync-url=",
+            "gateway.identity.secret=test-identity-secret-0123456789abcdef"
+    })
+    abstract static class Scenarios {
+
+        private static final long ROOM_ID = 101L;
+        private static final int CALLS = 1000;
+        private static final int THREADS = 32;
+
+        @Autowired
+        private BookingService bookingService;
+
+        @Autowired
+        private BookingRepository bookingRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @MockBean
+        private GuestClient guestClient;
+
+        @MockBean
+        private RoomClient roomClient;
+
+        @Test
+        void overlappingBookingsLeaveExactlyOneHolderPerNight() throws Exception {
+            GuestResponseDTO guest = new GuestResponseDTO();
+            guest.setId(1L);
+            when(guestClient.getGuest(anyLong())).thenReturn(Mono.just(guest));
+            when(roomClient.getRoom(anyLong())).thenReturn(Mono.just(room(ROOM_ID)));
+
+            LocalDateTime base = LocalDate.now().plusYears(1).atTime(14, 0);
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> outcomes = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                BookingRequestDTO request = new BookingRequestDTO();
+                request.setGuestId(1L);
+                request.setRoomId(ROOM_ID);
+                request.setNumberOfAdults(1);
+                LocalDateTime checkIn = base.plusDays(i % 20);
+                request.setCheckInDate(checkIn);
+                // Every fifth request is a same-day stay, which still holds the check-in night
+                request.setCheckOutDate(i % 5 == 0 ? checkIn.plusHours(4) : checkIn.plusDays(1 + i % 4).minusHours(3));
+                outcomes.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.createBooking(request).join();
+                        return true;
+                    } catch (CompletionException e) {
+                        if (e.getCause() instanceof BookingConflictException) {
+                            return false;
+                        }
+                        throw e;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get(2, TimeUnit.MINUTES)) {
+                    created++;
+                }
+            }
+            executor.shutdown();
+            assertTrue(created > 0, "at least one reservation must win");
+
+            List<Map<String, Object>> doubleHeld = jdbcTemplate.queryForList(
+                    "SELECT night, COUNT(*) FROM room_nights WHERE room_id = ? GROUP BY night HAVING COUNT(*) > 1", ROOM_ID);
+            assertTrue(doubleHeld.isEmpty(), "nights held twice: " + doubleHeld);
+
+            Map<LocalDate, Long> holders = new HashMap<>();
+            jdbcTemplate.query("SELECT night, booking_id FROM room_nights WHERE room_id = ?",
+                    rs -> {
+                        holders.put(rs.getDate("night").toLocalDate(), rs.getLong("booking_id"));
+                    }, ROOM_ID);
+
+            List<Booking> bookings = bookingRepository.findAll().stream()
+                    .filter(booking -> booking.getRoomId().equals(ROOM_ID) && booking.getStatus() != BookingStatus.CANCELLED)
+                    .toList();
+            assertEquals(created, bookings.size());
+            int heldNights = 0;
+            for (Booking booking : bookings) {
+                for (LocalDate night : RoomNight.nightsOf(booking.getCheckInDate(), booking.getCheckOutDate())) {
+                    assertEquals(booking.getId(), holders.get(night), "holder of " + night);
+                    heldNights++;
+                }
+            }
+            // Every held night belongs to exactly one created booking, so no two bookings share a night
+            assertEquals(holders.size(), heldNights);
+        }
+
+        @Test
+        void bulkImportRejectsOnlyItemsThatLoseANightToAnotherWriter() throws Exception {
+            GuestResponseDTO guest = new GuestResponseDTO();
+            guest.setId(1L);
+            when(guestClient.getGuests(any())).thenReturn(Mono.just(Map.of(1L, guest)));
+            when(roomClient.getRooms(any())).thenReturn(Mono.just(Map.of(201L, room(201L), 202L, room(202L))));
+
+            LocalDateTime checkIn = LocalDate.now().plusYears(2).atTime(14, 0);
+            // Held by a booking made on another instance, which this instance's index has not seen
+            jdbcTemplate.update("INSERT INTO room_nights (room_id, night, booking_id) VALUES (?, ?, ?)",
+                    201L, checkIn.toLocalDate(), 999_999L);
+
+            BulkBookingResponseDTO response = bookingService.createBookings(List.of(
+                    bulkItem(201L, checkIn, checkIn.plusDays(2)),
+                    bulkItem(202L, checkIn, checkIn.plusDays(2)),
+                    bulkItem(201L, checkIn.plusDays(3), checkIn.plusDays(4)))).join();
+
+            assertEquals(2, response.getCreated());
+            assertEquals(1, response.getRejected());
+            assertEquals(BulkBookingResultDTO.REJECTED, response.getResults().get(0).getStatus());
+            assertEquals(BulkBookingResultDTO.CREATED, response.getResults().get(1).getStatus());
+            assertEquals(BulkBookingResultDTO.CREATED, response.getResults().get(2).getStatus());
+            assertEquals(Set.of(999_999L), Set.copyOf(jdbcTemplate.queryForList(
+                    "SELECT booking_id FROM room_nights WHERE room_id = ? AND night = ?", Long.class,
+                    201L, checkIn.toLocalDate())));
+        }
+
+        private static RoomResponseDTO room(Long id) {
+            RoomResponseDTO room = new RoomResponseDTO();
+            room.setId(id);
+            room.setRoomNumber(String.valueOf(id));
+            room.setRoomType("DELUXE");
+            room.setPrice(100.0);
+            room.setStatus("AVAILABLE");
+            return room;
+        }
+
+        private static BookingRequestDTO bulkItem(Long roomId, LocalDateTime checkIn, LocalDateTime checkOut) {
+            BookingRequestDTO request = new BookingRequestDTO();
+            request.setGuestId(1L);
+            request.setRoomId(roomId);
+            request.setNumberOfAdults(1);
+            request.setCheckInDate(checkIn);
+            request.setCheckOutDate(checkOut);
+            return request;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hotel.common.config;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool and reuse counters for the shared RestTemplate.
+ * A reuse ratio close to 1 means requests are served on kept-alive connections.
+ */
+public class HttpClientPoolMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private volatile PoolingHttpClientConnectionManager connectionManager;
+
+    void attach(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    void recordRequest() {
+        requests.increment();
+    }
+
+    void recordConnectionOpened() {
+        connectionsOpened.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        long requestCount = requests.sum();
+        long opened = connectionsOpened.sum();
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        if (connectionManager != null) {
+            PoolStats stats = connectionManager.getTotalStats();
+            snapshot.put("leased", stats.getLeased());
+            snapshot.put("available", stats.getAvailable());
+            snapshot.put("pending", stats.getPending());
+            snapshot.put("max", stats.getMax());
+        }
+        snapshot.put("requests", requestCount);
+        snapshot.put("connectionsOpened", opened);
+        snapshot.put("reuseRatio", requestCount == 0 ? 0.0 : Math.max(0.0, 1.0 - (double) opened / requestCount));
+        return snapshot;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotel.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "http.client")
+public class HttpClientProperties {
+
+    private int maxTotalConnections = 200;
+    private int maxConnectionsPerRoute = 50;
+
+    private long connectTimeoutMs = 2000;
+    private long responseTimeoutMs = 5000;
+    private long connectionRequestTimeoutMs = 1000;
+
+    // Used when the server does not send a Keep-Alive header
+    private long keepAliveMs = 30000;
+    private long idleEvictionMs = 30000;
+    private long timeToLiveMs = 300000;
+    private long validateAfterInactivityMs = 2000;
+
+    // Per-route overrides, e.g. a larger pool for rooms-service
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String url;
+        private int maxConnections;
+    }
+}
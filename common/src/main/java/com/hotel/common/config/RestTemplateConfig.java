@@ -1,14 +1,95 @@
 package com.hotel.common.config;
 
+import com.hotel.common.security.ServiceIdentityInterceptor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URISyntaxException;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClientPoolMetrics httpClientPoolMetrics() {
+        return new HttpClientPoolMetrics();
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager pooledConnectionManager(HttpClientProperties properties,
+                                                                      HttpClientPoolMetrics httpClientPoolMetrics) {
+        // Counts physical connections so the reuse ratio can be derived from the request count
+        HttpConnectionFactory<ManagedHttpClientConnection> countingConnectionFactory = socket -> {
+            httpClientPoolMetrics.recordConnectionOpened();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+        };
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setConnectionFactory(countingConnectionFactory)
+                .setMaxConnTotal(properties.getMaxTotalConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(properties.getResponseTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.getTimeToLiveMs()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(properties.getValidateAfterInactivityMs()))
+                        .build())
+                .build();
+
+        for (HttpClientProperties.Route route : properties.getRoutes()) {
+            try {
+                connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(route.getUrl())), route.getMaxConnections());
+            } catch (URISyntaxException ex) {
+                throw new IllegalArgumentException("Invalid http.client route url: " + route.getUrl(), ex);
+            }
+        }
+        httpClientPoolMetrics.attach(connectionManager);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManager pooledConnectionManager,
+                                                HttpClientPoolMetrics httpClientPoolMetrics,
+                                                HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(pooledConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(properties.getConnectionRequestTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(properties.getResponseTimeoutMs()))
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(properties.getKeepAliveMs()))
+                        .build())
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .addExecInterceptorFirst("request-metrics", (request, scope, chain) -> {
+                    httpClientPoolMetrics.recordRequest();
+                    return chain.proceed(request, scope);
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleEvictionMs()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient pooledHttpClient,
+                                     ServiceIdentityInterceptor serviceIdentityInterceptor) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
+        restTemplate.getInterceptors().add(serviceIdentityInterceptor);
+        return restTemplate;
     }
 }
@@ -0,0 +1,25 @@
+package com.hotel.common.controller;
+
+import com.hotel.common.config.HttpClientPoolMetrics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/http-client")
+public class HttpClientMetricsController {
+
+    private final HttpClientPoolMetrics httpClientPoolMetrics;
+
+    public HttpClientMetricsController(HttpClientPoolMetrics httpClientPoolMetrics) {
+        this.httpClientPoolMetrics = httpClientPoolMetrics;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.ok(httpClientPoolMetrics.snapshot());
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotel.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back as {@code after} to get the following
+ * page; it is null on the last page. Backed by a {@link Slice}, so no count query is issued.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    // Always page 0: the keyset predicate does the skipping, the sort only orders within it
+    public static Pageable request(int limit, String idProperty, Sort.Direction direction) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        return PageRequest.of(0, size, Sort.by(direction, idProperty));
+    }
+
+    public static <E, T> CursorPage<T> of(Slice<E> slice, Function<E, T> mapper, Function<E, Long> idOf) {
+        return ofList(slice, content -> content.stream().map(mapper).toList(), idOf);
+    }
+
+    // For callers that resolve a whole page at once (e.g. batched downstream lookups)
+    public static <E, T> CursorPage<T> ofList(Slice<E> slice, Function<List<E>, List<T>> mapper, Function<E, Long> idOf) {
+        List<E> content = slice.getContent();
+        Long nextCursor = slice.hasNext() && !content.isEmpty() ? idOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(content), nextCursor, slice.hasNext());
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotel.common.event;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards local {@link ResourceChangedEvent}s to the subscriber URLs listed in
+ * {@code hotel.events.subscribers}. Delivery is best effort and off the request
+ * thread; subscribers are expected to bound staleness with a TTL.
+ */
+@Component
+public class ResourceChangePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceChangePublisher.class);
+
+    private final RestTemplate restTemplate;
+    private final List<String> subscribers;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000),
+            new ThreadPoolExecutor.DiscardOldestPolicy());
+
+    public ResourceChangePublisher(RestTemplate restTemplate,
+                                   @Value("${hotel.events.subscribers:}") List<String> subscribers) {
+        this.restTemplate = restTemplate;
+        this.subscribers = subscribers;
+    }
+
+    @EventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            for (String subscriber : subscribers) {
+                try {
+                    restTemplate.postForLocation(subscriber, event);
+                } catch (Exception ex) {
+                    logger.warn("Failed to deliver {} {} {} to {}: {}", event.getResourceType(),
+                            event.getChangeType(), event.getResourceId(), subscriber, ex.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotel.common.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published when a resource owned by one service changes, so that services
+ * holding copies of it (e.g. bookings-service snapshots) can drop them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceChangedEvent {
+
+    public static final String ROOM = "ROOM";
+    public static final String GUEST = "GUEST";
+
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private String resourceType;
+    private Long resourceId;
+    private String changeType;
+}
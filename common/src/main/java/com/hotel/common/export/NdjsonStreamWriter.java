@@ -0,0 +1,57 @@
+package com.hotel.common.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows as newline-delimited JSON, one row at a time, so exports run in
+ * constant memory. The caller owns the stream and the transaction it reads from.
+ */
+@Component
+public class NdjsonStreamWriter {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    // Flush to the client every this many rows
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter writer;
+
+    public NdjsonStreamWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Maps and writes every row; {@code afterWrite} runs once a row is written (e.g. to detach it
+     * from the persistence context). Returns the number of rows written.
+     */
+    public <E> long write(Stream<E> rows, Function<E, ?> mapper, Consumer<E> afterWrite, OutputStream out) {
+        long count = 0;
+        try {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                E row = iterator.next();
+                writer.writeValue(out, mapper.apply(row));
+                out.write('\n');
+                afterWrite.accept(row);
+                if (++count % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hotel.common.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal built from verified JWT claims; userId is null for tokens issued without it.
+ */
+public record AuthenticatedUser(Long userId, String username) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotel.common.security;
+
+import com.hotel.security.IdentitySignature;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the identity headers the api-gateway adds after verifying a JWT, and signs the ones services
+ * send each other. The canonical string, freshness check and secret rules live in
+ * {@link IdentitySignature}, which the gateway uses too.
+ */
+@Component
+public class GatewayIdentityVerifier {
+
+    public static final String USER_HEADER = IdentitySignature.USER_HEADER;
+    public static final String USER_ID_HEADER = IdentitySignature.USER_ID_HEADER;
+    public static final String ROLES_HEADER = IdentitySignature.ROLES_HEADER;
+    public static final String ISSUED_AT_HEADER = IdentitySignature.ISSUED_AT_HEADER;
+    public static final String SIGNATURE_HEADER = IdentitySignature.SIGNATURE_HEADER;
+
+    public static final String SERVICE_ROLE = IdentitySignature.SERVICE_ROLE;
+
+    private final IdentitySignature signature;
+
+    public GatewayIdentityVerifier(@Value("${gateway.identity.secret}") String secret,
+                                   @Value("${gateway.identity.max-age-ms:30000}") long maxAgeMs) {
+        this.signature = new IdentitySignature(secret, maxAgeMs);
+    }
+
+    /**
+     * Returns the identity if the request carries valid, fresh gateway headers, otherwise null.
+     */
+    public IdentitySignature.Identity verify(HttpServletRequest request) {
+        return signature.verify(request.getHeader(USER_HEADER), request.getHeader(USER_ID_HEADER),
+                request.getHeader(ROLES_HEADER), request.getHeader(ISSUED_AT_HEADER),
+                request.getHeader(SIGNATURE_HEADER), request.getMethod(), request.getRequestURI());
+    }
+
+    /**
+     * Signs identity headers for a request to {@code path} (raw, without the query string); services
+     * use this for their own calls to other services' internal endpoints.
+     */
+    public String sign(String username, String userId, String roles, long issuedAt, String method, String path) {
+        return signature.sign(username, userId, roles, issuedAt, method, path);
+    }
+}
@@ -0,0 +1,85 @@
+package com.hotel.common.security;
+
+import com.hotel.security.IdentitySignature;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests from signed api-gateway identity headers when present, otherwise from the
+ * verified JWT claims (username, user id and roles), without a UserDetailsService lookup. Added to each service's SecurityFilterChain rather than
+ * registered as a bean, so it only runs inside the security chain.
+ */
+public class JwtClaimsAuthenticationFilter extends OncePerRequestFilter {
+
+    private final JwtUtils jwtUtils;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    public JwtClaimsAuthenticationFilter(JwtUtils jwtUtils, GatewayIdentityVerifier gatewayIdentityVerifier) {
+        this.jwtUtils = jwtUtils;
+        this.gatewayIdentityVerifier = gatewayIdentityVerifier;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            IdentitySignature.Identity identity = gatewayIdentityVerifier.verify(request);
+            if (identity != null) {
+                authenticate(request, identity.userId(), identity.username(), identity.roles());
+                filterChain.doFilter(request, response);
+                return;
+            }
+        }
+
+        final String authHeader = request.getHeader("Authorization");
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtils.parseToken(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException ex) {
+            // Invalid or expired token: continue unauthenticated and let the chain reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (claims.getSubject() != null) {
+            authenticate(request, jwtUtils.extractUserId(claims), claims.getSubject(), jwtUtils.extractRoles(claims));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, Long userId, String username, List<String> roles) {
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(userId, username),
+                null,
+                authorities
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+}
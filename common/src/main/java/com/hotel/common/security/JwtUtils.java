@@ -1,81 +1,115 @@
 package com.hotel.common.security;
 
+import com.hotel.security.JwtVerifier;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
+/**
+ * Issues access tokens (auth-service) and verifies them (every service) through the shared
+ * {@link JwtVerifier}, which the api-gateway uses too.
+ */
 @Component
 public class JwtUtils {
 
+    public static final String ROLES_CLAIM = JwtVerifier.ROLES_CLAIM;
+    public static final String USER_ID_CLAIM = JwtVerifier.USER_ID_CLAIM;
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
-    @Value("${jwt.expiration:86400000}") // 1 Day
+    // Access tokens are short-lived; clients renew them with a refresh token from auth-service
+    @Value("${jwt.expiration:900000}") // 15 minutes
     private long jwtExpiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private final TokenRevocationList revocationList;
+
+    private JwtVerifier verifier;
+
+    public JwtUtils(TokenRevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @PostConstruct
+    void init() {
+        verifier = new JwtVerifier(secretKey, verifiedCacheMaxSize, revocationList);
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(Long userId, UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        return generateToken(claims, userDetails);
+    }
+
+    // Roles are always embedded so resource services can authorize from the token alone
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.putIfAbsent(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
         return Jwts.builder()
-                .setClaims(extraClaims)
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(verifier.signingKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username != null && username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Verifies the signature and expiry once and returns the claims. Repeat calls with the same
+     * token are answered from the verified-token cache until it expires; revocation is checked every time.
+     * Throws a JwtException if the token is malformed, tampered with, expired or revoked.
+     */
+    public Claims parseToken(String token) {
+        return verifier.verify(token);
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public long getExpirationMs() {
+        return jwtExpiration;
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public String extractUsername(String token) {
+        return parseToken(token).getSubject();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public List<String> extractRoles(Claims claims) {
+        return JwtVerifier.roles(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public Long extractUserId(Claims claims) {
+        return JwtVerifier.userId(claims);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes;
-        try {
-            keyBytes = Decoders.BASE64.decode(secretKey);
-        } catch (IllegalArgumentException ex) {
-            keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        }
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,49 @@
+package com.hotel.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Adds signed identity headers for this service (role {@code ROLE_SERVICE}) to outgoing calls to
+ * another service's {@code /internal/**} endpoints. Other requests are left untouched, so user
+ * traffic never carries the service identity.
+ */
+@Component
+public class ServiceIdentityInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String INTERNAL_PATH_PREFIX = "/internal/";
+
+    private final GatewayIdentityVerifier identityVerifier;
+    private final String serviceUsername;
+
+    public ServiceIdentityInterceptor(GatewayIdentityVerifier identityVerifier,
+                                      @Value("${spring.application.name:unknown-service}") String applicationName) {
+        this.identityVerifier = identityVerifier;
+        this.serviceUsername = "service:" + applicationName;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String path = request.getURI().getRawPath();
+        if (path != null && path.startsWith(INTERNAL_PATH_PREFIX)) {
+            long issuedAt = System.currentTimeMillis();
+            HttpHeaders headers = request.getHeaders();
+            headers.set(GatewayIdentityVerifier.USER_HEADER, serviceUsername);
+            headers.set(GatewayIdentityVerifier.USER_ID_HEADER, "");
+            headers.set(GatewayIdentityVerifier.ROLES_HEADER, GatewayIdentityVerifier.SERVICE_ROLE);
+            headers.set(GatewayIdentityVerifier.ISSUED_AT_HEADER, String.valueOf(issuedAt));
+            headers.set(GatewayIdentityVerifier.SIGNATURE_HEADER,
+                    identityVerifier.sign(serviceUsername, "", GatewayIdentityVerifier.SERVICE_ROLE, issuedAt,
+                            request.getMethod().name(), path));
+        }
+        return execution.execute(request, body);
+    }
+}
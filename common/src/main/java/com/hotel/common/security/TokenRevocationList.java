@@ -0,0 +1,43 @@
+package com.hotel.common.security;
+
+import com.hotel.security.RevocationFeed;
+import com.hotel.security.RevocationList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * The services' revocation list, pulling auth-service's feed through the shared RestTemplate (whose
+ * interceptor signs the call with the service identity).
+ */
+@Component
+public class TokenRevocationList extends RevocationList {
+
+    private final RestTemplate restTemplate;
+
+    public TokenRevocationList(RestTemplate restTemplate,
+                               @Value("${jwt.revocation.sync-url:}") String syncUrl,
+                               @Value("${jwt.revocation.sync-interval-ms:5000}") long syncIntervalMs) {
+        super(syncUrl, syncIntervalMs);
+        this.restTemplate = restTemplate;
+    }
+
+    @PostConstruct
+    @Override
+    public void start() {
+        super.start();
+    }
+
+    @PreDestroy
+    @Override
+    public void stop() {
+        super.stop();
+    }
+
+    @Override
+    protected RevocationFeed fetch(long since) {
+        return restTemplate.getForObject(syncUrl() + "?since={since}", RevocationFeed.class, since);
+    }
+}
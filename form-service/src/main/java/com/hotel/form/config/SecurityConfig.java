@@ -1,9 +1,11 @@
 package com.hotel.form.config;
 
-import com.hotel.form.security.JwtAuthenticationFilter;
-import com.hotel.form.service.CustomUserDetailsService;
+import com.hotel.common.security.GatewayIdentityVerifier;
+import com.hotel.common.security.JwtClaimsAuthenticationFilter;
+import com.hotel.common.security.JwtUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,12 +19,12 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private final JwtAuthenticationFilter jwtAuthFilter;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtUtils jwtUtils;
+    private final GatewayIdentityVerifier gatewayIdentityVerifier;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, CustomUserDetailsService userDetailsService) {
-        this.jwtAuthFilter = jwtAuthFilter;
-        this.userDetailsService = userDetailsService;
+    public SecurityConfig(JwtUtils jwtUtils, GatewayIdentityVerifier gatewayIdentityVerifier) {
+        this.jwtUtils = jwtUtils;
+        this.gatewayIdentityVerifier = gatewayIdentityVerifier;
     }
 
     @Bean
@@ -30,13 +32,15 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/feedbacks/submit", "/api/feedbacks/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/internal/http-client/**").hasAnyRole("SERVICE", "MANAGER")
+                        .requestMatchers("/internal/**").hasRole("SERVICE")
+                        .requestMatchers("/api/feedbacks/submit", "/api/feedbacks/submit/async", "/api/feedbacks/health").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtClaimsAuthenticationFilter(jwtUtils, gatewayIdentityVerifier), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
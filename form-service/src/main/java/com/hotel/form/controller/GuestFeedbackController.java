@@ -1,15 +1,26 @@
 package com.hotel.form.controller;
 
+import com.hotel.common.dto.CursorPage;
+import com.hotel.common.export.NdjsonStreamWriter;
+import com.hotel.form.dto.FeedbackRatingStatsDTO;
+import com.hotel.form.dto.FeedbackSummaryPageDTO;
+import com.hotel.form.dto.FeedbackTextSearchDTO;
 import com.hotel.form.dto.GuestFeedbackDTO;
 import com.hotel.form.exception.GuestFeedbackException;
 import com.hotel.form.service.GuestFeedbackService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,7 +47,7 @@ public class GuestFeedbackController {
     public ResponseEntity<Map<String, Object>> submitFeedback(
             @Valid @RequestBody GuestFeedbackDTO feedbackDTO) {
 
-        log.info("Received feedback submission from guest: {}", feedbackDTO.getGuestName());
+        log.debug("Received feedback submission from guest: {}", feedbackDTO.getGuestName());
 
         GuestFeedbackDTO savedFeedback = feedbackService.submitFeedback(feedbackDTO);
 
@@ -45,11 +56,36 @@ public class GuestFeedbackController {
         response.put("message", "Feedback submitted successfully");
         response.put("data", savedFeedback);
 
-        log.info("Feedback submitted successfully with ID: {}", savedFeedback.getFeedbackId());
+        log.debug("Feedback submitted successfully with ID: {}", savedFeedback.getFeedbackId());
 
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // For bursty sources (kiosks, email links): queued and written in batches; 503 when the queue is full
+    @PostMapping("/submit/async")
+    public ResponseEntity<Map<String, Object>> submitFeedbackAsync(
+            @Valid @RequestBody GuestFeedbackDTO feedbackDTO) {
+
+        feedbackService.submitFeedbackAsync(feedbackDTO);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Feedback accepted for processing");
+
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/ingest/stats")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<Map<String, Object>> getIngestionStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Ingestion stats retrieved successfully");
+        response.put("data", feedbackService.getIngestionStats());
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
     public ResponseEntity<Map<String, Object>> getAllFeedbacks(
@@ -68,6 +104,90 @@ public class GuestFeedbackController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    // Lightweight list: id, guest, room, rating and date only; open a feedback via /{id} for its answers
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<Map<String, Object>> getFeedbackSummaries(
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "10") int pageSize) {
+        log.info("Received request to fetch feedback summaries - page: {}, size: {}", pageNo, pageSize);
+
+        FeedbackSummaryPageDTO page = feedbackService.getFeedbackSummaries(pageNo, pageSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Feedback summaries retrieved successfully");
+        response.put("data", page.getFeedbacks());
+        response.put("count", page.getFeedbacks().size());
+        response.put("totalElements", page.getTotalElements());
+        response.put("totalPages", page.getTotalPages());
+        response.put("averageRating", page.getAverageRating());
+        response.put("ratingCounts", page.getRatingCounts());
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    // Rating stats read from the precomputed aggregates; room and day ranges are optional
+    @GetMapping("/stats")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<Map<String, Object>> getFeedbackStats(
+            @RequestParam(required = false) String roomNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Received request for feedback stats - room: {}, from: {}, to: {}", roomNumber, from, to);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("overall", feedbackService.getOverallStats());
+        if (roomNumber != null && !roomNumber.isBlank()) {
+            data.put("room", feedbackService.getRoomStats(roomNumber));
+        }
+        if (from != null || to != null) {
+            LocalDate end = to != null ? to : LocalDate.now();
+            List<FeedbackRatingStatsDTO> days = feedbackService.getDailyStats(from != null ? from : end.minusDays(29), end);
+            data.put("days", days);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Feedback stats retrieved successfully");
+        response.put("data", data);
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<Map<String, Object>> getFeedbacksAfter(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("Received request to fetch feedbacks - after: {}, limit: {}", after, limit);
+
+        CursorPage<GuestFeedbackDTO> page = feedbackService.getFeedbacksAfter(after, limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Feedbacks retrieved successfully");
+        response.put("data", page.getItems());
+        response.put("count", page.getItems().size());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasMore", page.isHasMore());
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    // All feedback as NDJSON, written row by row while the cursor is read
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportFeedbacks() {
+        log.info("Received request to export all feedbacks");
+
+        StreamingResponseBody body = out -> feedbackService.exportFeedbacks(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonStreamWriter.CONTENT_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"feedbacks.ndjson\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
     public ResponseEntity<Map<String, Object>> getFeedbackById(@PathVariable Long id) {
@@ -90,19 +210,54 @@ public class GuestFeedbackController {
             @RequestParam(required = false) Long id,
             @RequestParam(required = false) String roomNumber,
             @RequestParam(required = false) Integer minRating,
-            @RequestParam(required = false) Integer maxRating) {
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
 
         log.info("Received search/filter request - name: {}, id: {}, roomNumber: {}, minRating: {}, maxRating: {}", 
                 name, id, roomNumber, minRating, maxRating);
 
-        List<GuestFeedbackDTO> feedbacks = feedbackService.searchAndFilter(
-                name, id, roomNumber, minRating, maxRating);
+        Page<GuestFeedbackDTO> feedbacks = feedbackService.searchAndFilter(
+                name, id, roomNumber, minRating, maxRating, pageNo, pageSize, sortBy, sortDir);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Search completed successfully");
-        response.put("data", feedbacks);
-        response.put("count", feedbacks.size());
+        response.put("data", feedbacks.getContent());
+        response.put("count", feedbacks.getNumberOfElements());
+        response.put("pageNo", feedbacks.getNumber());
+        response.put("pageSize", feedbacks.getSize());
+        response.put("totalElements", feedbacks.getTotalElements());
+        response.put("totalPages", feedbacks.getTotalPages());
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    // Ranked keyword/phrase search over the feedback text, e.g. q=air conditioning or q="very rude"
+    @GetMapping("/text-search")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<Map<String, Object>> searchFeedbackText(
+            @RequestParam String q,
+            @RequestParam(required = false) String roomNumber,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(defaultValue = "0") int pageNo,
+            @RequestParam(defaultValue = "20") int pageSize) {
+
+        log.info("Received text search request - q: {}, roomNumber: {}, minRating: {}, maxRating: {}",
+                q, roomNumber, minRating, maxRating);
+
+        FeedbackTextSearchDTO result = feedbackService.searchText(q, roomNumber, minRating, maxRating, pageNo, pageSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Search completed successfully");
+        response.put("data", result.getFeedbacks());
+        response.put("scores", result.getScores());
+        response.put("count", result.getFeedbacks().size());
+        response.put("totalHits", result.getTotalHits());
 
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -0,0 +1,40 @@
+package com.hotel.form.dto;
+
+import com.hotel.form.entity.AggregateScope;
+import com.hotel.form.entity.FeedbackRatingAggregate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRatingStatsDTO {
+    private AggregateScope scope;
+    private String key;
+    private long totalFeedbacks;
+    private double averageRating;
+    private Map<Integer, Long> ratingCounts;  // Stars -> number of feedbacks
+
+    public static FeedbackRatingStatsDTO of(FeedbackRatingAggregate aggregate) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        counts.put(1, aggregate.getRating1());
+        counts.put(2, aggregate.getRating2());
+        counts.put(3, aggregate.getRating3());
+        counts.put(4, aggregate.getRating4());
+        counts.put(5, aggregate.getRating5());
+        long total = aggregate.getFeedbackCount();
+        double average = total == 0 ? 0.0 : Math.round(aggregate.getRatingSum() * 100.0 / total) / 100.0;
+        return new FeedbackRatingStatsDTO(aggregate.getScope(), aggregate.getScopeKey(), total, average, counts);
+    }
+
+    public static FeedbackRatingStatsDTO empty(AggregateScope scope, String key) {
+        FeedbackRatingAggregate aggregate = new FeedbackRatingAggregate();
+        aggregate.setScope(scope);
+        aggregate.setScopeKey(key);
+        return of(aggregate);
+    }
+}
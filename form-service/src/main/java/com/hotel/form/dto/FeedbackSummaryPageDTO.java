@@ -0,0 +1,20 @@
+package com.hotel.form.dto;
+
+import com.hotel.form.projection.GuestFeedbackSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSummaryPageDTO {
+    private List<GuestFeedbackSummary> feedbacks;
+    private long totalElements;
+    private int totalPages;
+    private double averageRating;             // Over all feedback, not just this page
+    private Map<Integer, Long> ratingCounts;  // Stars -> number of feedbacks
+}
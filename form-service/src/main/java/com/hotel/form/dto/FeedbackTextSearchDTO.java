@@ -0,0 +1,16 @@
+package com.hotel.form.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackTextSearchDTO {
+    private long totalHits;
+    private List<GuestFeedbackDTO> feedbacks; // Best match first
+    private List<Float> scores;               // Relevance score per feedback, same order
+}
@@ -0,0 +1,7 @@
+package com.hotel.form.entity;
+
+public enum AggregateScope {
+    ALL,   // Single row, empty key
+    ROOM,  // Keyed by room number
+    DAY    // Keyed by ISO date of creation (yyyy-MM-dd)
+}
@@ -0,0 +1,52 @@
+package com.hotel.form.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running count, rating sum and star histogram for one scope; written only through
+ * {@link com.hotel.form.stats.FeedbackRatingAggregator} upserts in the feedback's own transaction.
+ */
+@Entity
+@Table(name = "feedback_rating_aggregates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_scope_key", columnNames = {"scope", "scope_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackRatingAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 10)
+    private AggregateScope scope;
+
+    @Column(name = "scope_key", nullable = false, length = 20)
+    private String scopeKey;
+
+    @Column(name = "feedback_count", nullable = false)
+    private long feedbackCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+}
@@ -10,9 +10,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "guest_feedbacks", indexes = {
-    @Index(name = "idx_guest_name", columnList = "guest_name"),
-    @Index(name = "idx_room_number", columnList = "room_number"),
-    @Index(name = "idx_rating", columnList = "rating"),
+    @Index(name = "idx_guest_name_rating", columnList = "guest_name, rating"),
+    @Index(name = "idx_room_rating_created", columnList = "room_number, rating, created_at"),
+    @Index(name = "idx_rating_created", columnList = "rating, created_at"),
     @Index(name = "idx_created_at", columnList = "created_at")
 })
 @Data
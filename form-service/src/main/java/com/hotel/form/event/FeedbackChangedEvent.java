@@ -0,0 +1,17 @@
+package com.hotel.form.event;
+
+import com.hotel.form.entity.GuestFeedback;
+
+/**
+ * Published after a feedback is saved or deleted; feedback is null for deletes.
+ */
+public record FeedbackChangedEvent(Long feedbackId, GuestFeedback feedback) {
+
+    public static FeedbackChangedEvent saved(GuestFeedback feedback) {
+        return new FeedbackChangedEvent(feedback.getFeedbackId(), feedback);
+    }
+
+    public static FeedbackChangedEvent deleted(Long feedbackId) {
+        return new FeedbackChangedEvent(feedbackId, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel.form.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -20,7 +21,15 @@ public class GlobalExceptionHandler {
         response.put("errorCode", ex.getErrorCode());
         response.put("message", ex.getMessage());
         
-        HttpStatus status = "NOT_FOUND".equals(ex.getErrorCode()) ? HttpStatus.NOT_FOUND : HttpStatus.INTERNAL_SERVER_ERROR;
+        HttpStatus status = switch (ex.getErrorCode()) {
+            case "NOT_FOUND" -> HttpStatus.NOT_FOUND;
+            case "INVALID_SEARCH" -> HttpStatus.BAD_REQUEST;
+            case "QUEUE_FULL" -> HttpStatus.SERVICE_UNAVAILABLE;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+        }
         return new ResponseEntity<>(response, status);
     }
 
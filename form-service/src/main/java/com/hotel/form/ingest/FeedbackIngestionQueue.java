@@ -0,0 +1,210 @@
+package com.hotel.form.ingest;
+
+import com.hotel.form.entity.GuestFeedback;
+import com.hotel.form.repository.GuestFeedbackBatchRepository;
+import com.hotel.form.search.FeedbackSearchIndex;
+import com.hotel.form.stats.FeedbackRatingAggregator;
+import com.hotel.form.stats.FeedbackRatingAggregator.RatedFeedback;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts feedback into a bounded in-memory queue and writes it to MySQL in JDBC batches from a single
+ * writer thread. A batch is flushed when it is full or flush-interval-ms after its first item arrived.
+ * A full queue turns submissions away instead of growing, so callers see backpressure as 503s.
+ * On shutdown intake stops and the queue is drained before the datasource closes; queued feedback is
+ * only in memory, so a crash loses whatever had not been written yet.
+ */
+@Component
+@Slf4j
+public class FeedbackIngestionQueue {
+
+    private final GuestFeedbackBatchRepository batchRepository;
+    private final FeedbackRatingAggregator ratingAggregator;
+    private final FeedbackSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<GuestFeedback> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long retryBackoffMs;
+    private final long drainTimeoutMs;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread writerThread;
+    private volatile boolean closed;
+    private volatile long drainDeadline = Long.MAX_VALUE;
+
+    public FeedbackIngestionQueue(GuestFeedbackBatchRepository batchRepository, FeedbackRatingAggregator ratingAggregator,
+                                  FeedbackSearchIndex searchIndex, PlatformTransactionManager transactionManager,
+                                  @Value("${feedback.ingest.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${feedback.ingest.batch-size:500}") int batchSize,
+                                  @Value("${feedback.ingest.flush-interval-ms:200}") long flushIntervalMs,
+                                  @Value("${feedback.ingest.offer-timeout-ms:50}") long offerTimeoutMs,
+                                  @Value("${feedback.ingest.retry-backoff-ms:1000}") long retryBackoffMs,
+                                  @Value("${feedback.ingest.drain-timeout-ms:30000}") long drainTimeoutMs) {
+        this.batchRepository = batchRepository;
+        this.ratingAggregator = ratingAggregator;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread = new Thread(this::run, "feedback-ingest-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        closed = true;
+        drainDeadline = System.currentTimeMillis() + drainTimeoutMs;
+        writerThread.join(drainTimeoutMs + flushIntervalMs);
+        if (!queue.isEmpty()) {
+            log.error("Feedback ingestion stopped with {} submissions still queued", queue.size());
+        }
+        log.info("Feedback ingestion stopped: {} accepted, {} written, {} dropped", accepted.get(), written.get(), dropped.get());
+    }
+
+    /**
+     * Queues the feedback, waiting up to offer-timeout-ms for space. Returns false if the queue is
+     * full or shutting down.
+     */
+    public boolean submit(GuestFeedback feedback) {
+        if (!closed) {
+            try {
+                if (queue.offer(feedback, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    accepted.incrementAndGet();
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("queued", (long) queue.size());
+        stats.put("capacity", (long) queueCapacity);
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("written", written.get());
+        stats.put("dropped", dropped.get());
+        return stats;
+    }
+
+    private void run() {
+        List<GuestFeedback> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                GuestFeedback first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Feedback ingestion writer interrupted with {} submissions queued", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Tops the batch up until it is full or the flush interval since its first item has passed
+    private void fill(List<GuestFeedback> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || closed) {
+                return;
+            }
+            GuestFeedback next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeWithRetry(List<GuestFeedback> batch) throws InterruptedException {
+        while (true) {
+            try {
+                write(batch);
+            } catch (DataIntegrityViolationException e) {
+                // A row the database will never accept: retrying cannot help, so isolate and drop it
+                if (batch.size() == 1) {
+                    dropped.incrementAndGet();
+                    log.error("Dropping queued feedback from {}: {}", batch.get(0).getGuestName(), e.getMessage());
+                    return;
+                }
+                for (GuestFeedback feedback : batch) {
+                    writeWithRetry(List.of(feedback));
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (closed && System.currentTimeMillis() >= drainDeadline) {
+                    dropped.addAndGet(batch.size());
+                    log.error("Dropping {} queued feedbacks, database still failing at shutdown: {}",
+                            batch.size(), e.getMessage(), e);
+                    return;
+                }
+                log.error("Failed to write {} queued feedbacks, retrying in {} ms: {}",
+                        batch.size(), retryBackoffMs, e.getMessage());
+                Thread.sleep(retryBackoffMs);
+                continue;
+            }
+            // Outside the retry loop: the rows are committed, so a failure from here on must not write them again
+            written.addAndGet(batch.size());
+            try {
+                searchIndex.indexAll(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to index {} written feedbacks: {}", batch.size(), e.getMessage(), e);
+            }
+            return;
+        }
+    }
+
+    // Rows and rating aggregates commit together; the search index follows once they are durable
+    private void write(List<GuestFeedback> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            batchRepository.insertAll(batch);
+            ratingAggregator.addedAll(batch.stream().map(RatedFeedback::of).toList());
+        });
+    }
+}
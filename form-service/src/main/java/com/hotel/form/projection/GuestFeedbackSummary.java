@@ -0,0 +1,19 @@
+package com.hotel.form.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view columns of a feedback; the LONGTEXT answers are fetched per feedback via {@code GET /api/feedbacks/{id}}.
+ */
+public interface GuestFeedbackSummary {
+
+    Long getFeedbackId();
+
+    String getGuestName();
+
+    String getRoomNumber();
+
+    Integer getRating();
+
+    LocalDateTime getCreatedAt();
+}
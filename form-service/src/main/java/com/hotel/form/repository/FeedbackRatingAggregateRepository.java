@@ -0,0 +1,19 @@
+package com.hotel.form.repository;
+
+import com.hotel.form.entity.AggregateScope;
+import com.hotel.form.entity.FeedbackRatingAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FeedbackRatingAggregateRepository extends JpaRepository<FeedbackRatingAggregate, Long> {
+
+    Optional<FeedbackRatingAggregate> findByScopeAndScopeKey(AggregateScope scope, String scopeKey);
+
+    // DAY keys are ISO dates, so string order is date order
+    List<FeedbackRatingAggregate> findByScopeAndScopeKeyBetweenOrderByScopeKey(AggregateScope scope,
+                                                                               String fromKey, String toKey);
+}
@@ -0,0 +1,70 @@
+package com.hotel.form.repository;
+
+import com.hotel.form.entity.GuestFeedback;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC batch insert for queued feedback. Hibernate cannot batch inserts for IDENTITY ids, so the rows
+ * are written directly and the generated keys read back; with rewriteBatchedStatements the batch
+ * becomes a single multi-row INSERT.
+ */
+@Repository
+public class GuestFeedbackBatchRepository {
+
+    private static final String INSERT_FEEDBACK = "INSERT INTO guest_feedbacks (guest_name, guest_email, room_number, "
+            + "rating, service_quality, room_cleanliness, amenities_feedback, overall_experience, suggestions, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GuestFeedbackBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Assigns the generated id to each feedback
+    public void insertAll(List<GuestFeedback> feedbacks) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_FEEDBACK, Statement.RETURN_GENERATED_KEYS)) {
+                for (GuestFeedback feedback : feedbacks) {
+                    statement.setString(1, feedback.getGuestName());
+                    statement.setString(2, feedback.getGuestEmail());
+                    if (feedback.getRoomNumber() != null) {
+                        statement.setString(3, feedback.getRoomNumber());
+                    } else {
+                        statement.setNull(3, Types.VARCHAR);
+                    }
+                    statement.setInt(4, feedback.getRating());
+                    statement.setString(5, feedback.getServiceQuality());
+                    statement.setString(6, feedback.getRoomCleanliness());
+                    statement.setString(7, feedback.getAmenitiesFeedback());
+                    statement.setString(8, feedback.getOverallExperience());
+                    if (feedback.getSuggestions() != null) {
+                        statement.setString(9, feedback.getSuggestions());
+                    } else {
+                        statement.setNull(9, Types.LONGVARCHAR);
+                    }
+                    statement.setTimestamp(10, Timestamp.valueOf(feedback.getCreatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (GuestFeedback feedback : feedbacks) {
+                        keys.next();
+                        feedback.setFeedbackId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -1,58 +1,39 @@
 package com.hotel.form.repository;
 
 import com.hotel.form.entity.GuestFeedback;
+import com.hotel.form.projection.GuestFeedbackSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface GuestFeedbackRepository extends JpaRepository<GuestFeedback, Long> {
+public interface GuestFeedbackRepository extends JpaRepository<GuestFeedback, Long>,
+        JpaSpecificationExecutor<GuestFeedback> {
     
     Page<GuestFeedback> findAll(Pageable pageable);
-    
-    List<GuestFeedback> findByGuestNameContainingIgnoreCase(String name);
-    
-    List<GuestFeedback> findByRoomNumber(String roomNumber);
-    
-    List<GuestFeedback> findByRating(Integer rating);
-    
-    List<GuestFeedback> findByRatingBetween(Integer minRating, Integer maxRating);
-    
-    List<GuestFeedback> findByRatingGreaterThanEqual(Integer minRating);
-    
-    List<GuestFeedback> findByRatingLessThanEqual(Integer maxRating);
-    
-    @Query("SELECT g FROM GuestFeedback g WHERE " +
-           "LOWER(g.guestName) LIKE LOWER(CONCAT('%', :name, '%')) AND " +
-           "g.rating BETWEEN :minRating AND :maxRating")
-    List<GuestFeedback> findByNameAndRatingRange(@Param("name") String name, 
-                                                  @Param("minRating") Integer minRating, 
-                                                  @Param("maxRating") Integer maxRating);
-    
-    @Query("SELECT g FROM GuestFeedback g WHERE " +
-           "LOWER(g.guestName) LIKE LOWER(CONCAT('%', :name, '%')) AND " +
-           "g.roomNumber = :roomNumber")
-    List<GuestFeedback> findByNameAndRoomNumber(@Param("name") String name, 
-                                                @Param("roomNumber") String roomNumber);
-    
-    @Query("SELECT g FROM GuestFeedback g WHERE " +
-           "g.roomNumber = :roomNumber AND " +
-           "g.rating BETWEEN :minRating AND :maxRating")
-    List<GuestFeedback> findByRoomNumberAndRatingRange(@Param("roomNumber") String roomNumber,
-                                                       @Param("minRating") Integer minRating,
-                                                       @Param("maxRating") Integer maxRating);
-    
-    @Query("SELECT g FROM GuestFeedback g WHERE " +
-           "LOWER(g.guestName) LIKE LOWER(CONCAT('%', :name, '%')) AND " +
-           "g.roomNumber = :roomNumber AND " +
-           "g.rating BETWEEN :minRating AND :maxRating")
-    List<GuestFeedback> findByNameRoomAndRating(@Param("name") String name,
-                                                @Param("roomNumber") String roomNumber,
-                                                @Param("minRating") Integer minRating,
-                                                @Param("maxRating") Integer maxRating);
+
+    // Selects only the list columns so the LONGTEXT answers never leave the database
+    @Query(value = "SELECT g.feedbackId AS feedbackId, g.guestName AS guestName, g.roomNumber AS roomNumber, "
+            + "g.rating AS rating, g.createdAt AS createdAt FROM GuestFeedback g",
+            countQuery = "SELECT COUNT(g) FROM GuestFeedback g")
+    Page<GuestFeedbackSummary> findSummaries(Pageable pageable);
+
+    Slice<GuestFeedback> findByFeedbackIdLessThan(Long feedbackId, Pageable pageable);
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM GuestFeedback g ORDER BY g.feedbackId")
+    Stream<GuestFeedback> streamAll();
 }
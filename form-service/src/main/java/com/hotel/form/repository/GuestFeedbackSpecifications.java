@@ -0,0 +1,46 @@
+package com.hotel.form.repository;
+
+import com.hotel.form.entity.GuestFeedback;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Composable predicates for feedback search. Each returns null when its filter is absent, which
+ * Specification.where/and simply skip.
+ */
+public final class GuestFeedbackSpecifications {
+
+    private GuestFeedbackSpecifications() {
+    }
+
+    public static Specification<GuestFeedback> hasId(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.equal(root.get("feedbackId"), id);
+    }
+
+    // Prefix match so idx_guest_name_rating can be used; the default MySQL collation is case-insensitive
+    public static Specification<GuestFeedback> nameStartsWith(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return null;
+        }
+        String pattern = escapeLike(name.trim()) + "%";
+        return (root, query, cb) -> cb.like(root.get("guestName"), pattern, '\\');
+    }
+
+    public static Specification<GuestFeedback> inRoom(String roomNumber) {
+        if (roomNumber == null || roomNumber.trim().isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("roomNumber"), roomNumber.trim());
+    }
+
+    public static Specification<GuestFeedback> ratingAtLeast(Integer minRating) {
+        return minRating == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rating"), minRating);
+    }
+
+    public static Specification<GuestFeedback> ratingAtMost(Integer maxRating) {
+        return maxRating == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("rating"), maxRating);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
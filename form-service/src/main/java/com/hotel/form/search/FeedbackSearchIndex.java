@@ -0,0 +1,318 @@
+package com.hotel.form.search;
+
+import com.hotel.form.entity.GuestFeedback;
+import com.hotel.form.event.FeedbackChangedEvent;
+import com.hotel.form.exception.GuestFeedbackException;
+import com.hotel.form.repository.GuestFeedbackRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Lucene index on local disk over the free-text feedback columns, with rating and room number
+ * indexed for filtering. Kept current from {@link FeedbackChangedEvent}s after commit; changes are
+ * visible to searches immediately and committed to disk on a fixed interval. The index is rebuilt
+ * from the database at startup when its document count does not match the table; the rebuild runs
+ * alongside live updates and never overwrites or resurrects a document an event changed meanwhile.
+ */
+@Component
+@Slf4j
+public class FeedbackSearchIndex {
+
+    private static final String ID = "id";
+    private static final String RATING = "rating";
+    private static final String ROOM = "room";
+    private static final String TEXT = "text";
+    private static final String GENERATION = "generation";
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final GuestFeedbackRepository feedbackRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String indexDir;
+    private final long commitIntervalMs;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final ScheduledExecutorService committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "feedback-index-commit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    // Serializes event writes with the rebuild's per-document writes
+    private final Object writeLock = new Object();
+    // Stamped on every written document; a rebuild deletes whatever it did not stamp itself
+    private String generation = "0";
+    // Ids changed by events while a rebuild runs, so it does not put back its older snapshot of them
+    private Set<String> changedDuringRebuild;
+
+    public FeedbackSearchIndex(GuestFeedbackRepository feedbackRepository, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${feedback.search.index-dir:./data/feedback-index}") String indexDir,
+                               @Value("${feedback.search.commit-interval-ms:5000}") long commitIntervalMs) {
+        this.feedbackRepository = feedbackRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexDir = indexDir;
+        this.commitIntervalMs = commitIntervalMs;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        committer.scheduleWithFixedDelay(this::commit, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        committer.shutdown();
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // Rebuilt in the background so startup is not held up; searches see the partial index meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        long indexed = writer.getDocStats().numDocs;
+        long stored = feedbackRepository.count();
+        if (indexed == stored) {
+            return;
+        }
+        log.info("Feedback search index has {} documents but the table has {} rows; rebuilding", indexed, stored);
+        committer.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        String id = event.feedbackId().toString();
+        try {
+            synchronized (writeLock) {
+                markChanged(id);
+                if (event.feedback() == null) {
+                    writer.deleteDocuments(new Term(ID, id));
+                } else {
+                    writer.updateDocument(new Term(ID, id), toDocument(event.feedback()));
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to update feedback {} in the search index: {}", event.feedbackId(), e.getMessage(), e);
+        }
+    }
+
+    // Used by batched ingestion after its transaction commits; one searcher refresh for the whole batch
+    public void indexAll(List<GuestFeedback> feedbacks) {
+        try {
+            synchronized (writeLock) {
+                for (GuestFeedback feedback : feedbacks) {
+                    String id = feedback.getFeedbackId().toString();
+                    markChanged(id);
+                    writer.updateDocument(new Term(ID, id), toDocument(feedback));
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Failed to add {} feedbacks to the search index: {}", feedbacks.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ranked keyword/phrase search (classic query syntax, terms ANDed by default) with optional
+     * rating and room filters that do not affect scoring.
+     */
+    public FeedbackTextHits search(String text, String roomNumber, Integer minRating, Integer maxRating,
+                                   int pageNo, int pageSize) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        int from = Math.max(pageNo, 0) * size;
+        if (from + size > MAX_RESULT_WINDOW) {
+            throw new GuestFeedbackException("INVALID_SEARCH",
+                    "Only the first " + MAX_RESULT_WINDOW + " matches can be paged through; refine the query");
+        }
+
+        Query query = buildQuery(text, roomNumber, minRating, maxRating);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, from + size);
+            List<Long> ids = new ArrayList<>();
+            List<Float> scores = new ArrayList<>();
+            ScoreDoc[] hits = topDocs.scoreDocs;
+            for (int i = from; i < hits.length; i++) {
+                Document doc = searcher.storedFields().document(hits[i].doc);
+                ids.add(doc.getField(ID).numericValue().longValue());
+                scores.add(hits[i].score);
+            }
+            return new FeedbackTextHits(topDocs.totalHits.value, ids, scores);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("Failed to release index searcher: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Query buildQuery(String text, String roomNumber, Integer minRating, Integer maxRating) {
+        QueryParser parser = new QueryParser(TEXT, analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        Query textQuery;
+        try {
+            textQuery = parser.parse(text);
+        } catch (ParseException e) {
+            throw new GuestFeedbackException("INVALID_SEARCH", "Invalid search query: " + e.getMessage());
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (roomNumber != null && !roomNumber.trim().isEmpty()) {
+            query.add(new TermQuery(new Term(ROOM, roomNumber.trim())), BooleanClause.Occur.FILTER);
+        }
+        if (minRating != null || maxRating != null) {
+            query.add(IntPoint.newRangeQuery(RATING,
+                    minRating != null ? minRating : Integer.MIN_VALUE,
+                    maxRating != null ? maxRating : Integer.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Document toDocument(GuestFeedback feedback) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, feedback.getFeedbackId().toString(), Field.Store.NO));
+        doc.add(new StoredField(ID, feedback.getFeedbackId()));
+        doc.add(new StringField(GENERATION, generation, Field.Store.NO));
+        doc.add(new IntPoint(RATING, feedback.getRating()));
+        if (feedback.getRoomNumber() != null) {
+            doc.add(new StringField(ROOM, feedback.getRoomNumber(), Field.Store.NO));
+        }
+        doc.add(new TextField(TEXT, String.join("\n",
+                nullToEmpty(feedback.getServiceQuality()),
+                nullToEmpty(feedback.getRoomCleanliness()),
+                nullToEmpty(feedback.getAmenitiesFeedback()),
+                nullToEmpty(feedback.getOverallExperience()),
+                nullToEmpty(feedback.getSuggestions())), Field.Store.NO));
+        return doc;
+    }
+
+    // Must hold writeLock
+    private void markChanged(String id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    // Overwrites documents in place rather than clearing the index, so searches never see it empty
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        String rebuildGeneration = Long.toString(started);
+        synchronized (writeLock) {
+            generation = rebuildGeneration;
+            changedDuringRebuild = new HashSet<>();
+        }
+        try {
+            Long count = readOnlyTransaction.execute(status -> {
+                long indexed = 0;
+                try (Stream<GuestFeedback> feedbacks = feedbackRepository.streamAll()) {
+                    for (GuestFeedback feedback : (Iterable<GuestFeedback>) feedbacks::iterator) {
+                        String id = feedback.getFeedbackId().toString();
+                        synchronized (writeLock) {
+                            if (!changedDuringRebuild.contains(id)) {
+                                writer.updateDocument(new Term(ID, id), toDocument(feedback));
+                            }
+                        }
+                        entityManager.detach(feedback);
+                        indexed++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return indexed;
+            });
+            // Anything left from an older generation is a row deleted while no event reached the index
+            writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.FILTER)
+                    .add(new TermQuery(new Term(GENERATION, rebuildGeneration)), BooleanClause.Occur.MUST_NOT)
+                    .build());
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Rebuilt feedback search index with {} documents in {} ms", count, System.currentTimeMillis() - started);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to rebuild feedback search index: {}", e.getMessage(), e);
+        } finally {
+            synchronized (writeLock) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    private void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("Failed to commit feedback search index: {}", e.getMessage(), e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,9 @@
+package com.hotel.form.search;
+
+import java.util.List;
+
+/**
+ * One page of ranked full-text matches: feedback ids best first, with their scores.
+ */
+public record FeedbackTextHits(long totalHits, List<Long> feedbackIds, List<Float> scores) {
+}
@@ -1,20 +1,49 @@
 package com.hotel.form.service;
 
+import com.hotel.common.dto.CursorPage;
+import com.hotel.common.export.NdjsonStreamWriter;
+import com.hotel.form.dto.FeedbackRatingStatsDTO;
+import com.hotel.form.dto.FeedbackSummaryPageDTO;
+import com.hotel.form.dto.FeedbackTextSearchDTO;
 import com.hotel.form.dto.GuestFeedbackDTO;
+import com.hotel.form.entity.AggregateScope;
 import com.hotel.form.entity.GuestFeedback;
+import com.hotel.form.event.FeedbackChangedEvent;
 import com.hotel.form.exception.GuestFeedbackException;
+import com.hotel.form.ingest.FeedbackIngestionQueue;
+import com.hotel.form.projection.GuestFeedbackSummary;
+import com.hotel.form.repository.FeedbackRatingAggregateRepository;
 import com.hotel.form.repository.GuestFeedbackRepository;
+import com.hotel.form.repository.GuestFeedbackSpecifications;
+import com.hotel.form.search.FeedbackSearchIndex;
+import com.hotel.form.search.FeedbackTextHits;
+import com.hotel.form.stats.FeedbackRatingAggregator;
+import com.hotel.form.stats.FeedbackRatingAggregator.RatedFeedback;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -22,32 +51,45 @@ import java.util.stream.Collectors;
 public class GuestFeedbackService {
 
     private final GuestFeedbackRepository feedbackRepository;
+    private final NdjsonStreamWriter ndjsonWriter;
+    private final EntityManager entityManager;
+    private final FeedbackSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FeedbackRatingAggregator ratingAggregator;
+    private final FeedbackRatingAggregateRepository aggregateRepository;
+    private final FeedbackIngestionQueue ingestionQueue;
+    private static final Set<String> SEARCH_SORT_FIELDS = Set.of("createdAt", "rating", "guestName", "feedbackId");
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_STATS_DAYS = 366;
     private static final DateTimeFormatter DATE_FORMATTER = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public GuestFeedbackService(GuestFeedbackRepository feedbackRepository) {
+    public GuestFeedbackService(GuestFeedbackRepository feedbackRepository, NdjsonStreamWriter ndjsonWriter,
+                                EntityManager entityManager, FeedbackSearchIndex searchIndex,
+                                ApplicationEventPublisher eventPublisher, FeedbackRatingAggregator ratingAggregator,
+                                FeedbackRatingAggregateRepository aggregateRepository,
+                                FeedbackIngestionQueue ingestionQueue) {
         this.feedbackRepository = feedbackRepository;
+        this.ndjsonWriter = ndjsonWriter;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.ratingAggregator = ratingAggregator;
+        this.aggregateRepository = aggregateRepository;
+        this.ingestionQueue = ingestionQueue;
     }
 
     public GuestFeedbackDTO submitFeedback(GuestFeedbackDTO feedbackDTO) {
         try {
-            log.info("Attempting to save guest feedback from: {}", feedbackDTO.getGuestName());
-
-            GuestFeedback feedback = GuestFeedback.builder()
-                    .guestName(feedbackDTO.getGuestName().trim())
-                    .guestEmail(feedbackDTO.getGuestEmail().trim())
-                    .roomNumber(feedbackDTO.getRoomNumber() != null ? feedbackDTO.getRoomNumber().trim() : null)
-                    .rating(feedbackDTO.getRating())
-                    .serviceQuality(feedbackDTO.getServiceQuality().trim())
-                    .roomCleanliness(feedbackDTO.getRoomCleanliness().trim())
-                    .amenitiesFeedback(feedbackDTO.getAmenitiesFeedback().trim())
-                    .overallExperience(feedbackDTO.getOverallExperience().trim())
-                    .suggestions(feedbackDTO.getSuggestions() != null ? feedbackDTO.getSuggestions().trim() : null)
-                    .build();
+            log.debug("Attempting to save guest feedback from: {}", feedbackDTO.getGuestName());
+
+            GuestFeedback feedback = toEntity(feedbackDTO);
 
             GuestFeedback savedFeedback = feedbackRepository.save(feedback);
+            ratingAggregator.added(RatedFeedback.of(savedFeedback));
+            eventPublisher.publishEvent(FeedbackChangedEvent.saved(savedFeedback));
 
-            log.info("Successfully saved guest feedback with ID: {} from guest: {}", 
+            log.debug("Successfully saved guest feedback with ID: {} from guest: {}", 
                     savedFeedback.getFeedbackId(), savedFeedback.getGuestName());
 
             return convertEntityToDTO(savedFeedback);
@@ -59,6 +101,25 @@ public class GuestFeedbackService {
         }
     }
 
+    /**
+     * Queues the feedback for a batched insert instead of writing it now; it gets its id and shows up in
+     * lists, stats and search once its batch is written (normally within a fraction of a second).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void submitFeedbackAsync(GuestFeedbackDTO feedbackDTO) {
+        GuestFeedback feedback = toEntity(feedbackDTO);
+        feedback.setCreatedAt(LocalDateTime.now());
+        if (!ingestionQueue.submit(feedback)) {
+            throw new GuestFeedbackException("QUEUE_FULL",
+                    "Feedback service is busy, please retry shortly");
+        }
+        log.debug("Queued guest feedback from: {}", feedback.getGuestName());
+    }
+
+    public Map<String, Long> getIngestionStats() {
+        return ingestionQueue.stats();
+    }
+
     @Transactional(readOnly = true)
     public List<GuestFeedbackDTO> getAllFeedbacks(int pageNo, int pageSize) {
         try {
@@ -76,6 +137,81 @@ public class GuestFeedbackService {
         }
     }
 
+    // List-view page from a column projection, with the overall rating stats from the aggregates
+    @Transactional(readOnly = true)
+    public FeedbackSummaryPageDTO getFeedbackSummaries(int pageNo, int pageSize) {
+        try {
+            log.info("Fetching feedback summaries - page: {}, size: {}", pageNo, pageSize);
+            Pageable pageable = PageRequest.of(Math.max(pageNo, 0),
+                    Math.max(1, Math.min(pageSize, MAX_SEARCH_PAGE_SIZE)),
+                    Sort.by(Sort.Direction.DESC, "createdAt"));
+            Page<GuestFeedbackSummary> page = feedbackRepository.findSummaries(pageable);
+
+            FeedbackRatingStatsDTO overall = getOverallStats();
+
+            return new FeedbackSummaryPageDTO(page.getContent(), page.getTotalElements(), page.getTotalPages(),
+                    overall.getAverageRating(), overall.getRatingCounts());
+        } catch (Exception ex) {
+            log.error("Error fetching feedback summaries: {}", ex.getMessage(), ex);
+            throw new GuestFeedbackException("FETCH_ERROR",
+                    "Failed to fetch feedback summaries: " + ex.getMessage(), ex);
+        }
+    }
+
+    // Precomputed aggregates: one row read per scope, independent of how much feedback exists
+    @Transactional(readOnly = true)
+    public FeedbackRatingStatsDTO getOverallStats() {
+        return aggregateRepository.findByScopeAndScopeKey(AggregateScope.ALL, "")
+                .map(FeedbackRatingStatsDTO::of)
+                .orElseGet(() -> FeedbackRatingStatsDTO.empty(AggregateScope.ALL, ""));
+    }
+
+    @Transactional(readOnly = true)
+    public FeedbackRatingStatsDTO getRoomStats(String roomNumber) {
+        String room = roomNumber.trim();
+        return aggregateRepository.findByScopeAndScopeKey(AggregateScope.ROOM, room)
+                .map(FeedbackRatingStatsDTO::of)
+                .orElseGet(() -> FeedbackRatingStatsDTO.empty(AggregateScope.ROOM, room));
+    }
+
+    // Days without feedback are omitted
+    @Transactional(readOnly = true)
+    public List<FeedbackRatingStatsDTO> getDailyStats(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_STATS_DAYS) {
+            throw new GuestFeedbackException("INVALID_SEARCH",
+                    "Date range must be ascending and at most " + MAX_STATS_DAYS + " days");
+        }
+        return aggregateRepository.findByScopeAndScopeKeyBetweenOrderByScopeKey(
+                        AggregateScope.DAY, from.toString(), to.toString()).stream()
+                .map(FeedbackRatingStatsDTO::of)
+                .collect(Collectors.toList());
+    }
+
+    // Keyset pagination, newest first by id (ids follow creation order); no count query
+    @Transactional(readOnly = true)
+    public CursorPage<GuestFeedbackDTO> getFeedbacksAfter(Long after, int limit) {
+        try {
+            log.info("Fetching guest feedbacks after cursor: {}, limit: {}", after, limit);
+            Slice<GuestFeedback> slice = feedbackRepository.findByFeedbackIdLessThan(
+                    after != null ? after : Long.MAX_VALUE, CursorPage.request(limit, "feedbackId", Sort.Direction.DESC));
+            return CursorPage.of(slice, this::convertEntityToDTO, GuestFeedback::getFeedbackId);
+        } catch (Exception ex) {
+            log.error("Error fetching feedbacks by cursor: {}", ex.getMessage(), ex);
+            throw new GuestFeedbackException("FETCH_ERROR",
+                    "Failed to fetch feedbacks: " + ex.getMessage(), ex);
+        }
+    }
+
+    // Streams the whole table through a forward-only cursor; each row is detached once written
+    @Transactional(readOnly = true)
+    public long exportFeedbacks(OutputStream out) {
+        try (Stream<GuestFeedback> feedbacks = feedbackRepository.streamAll()) {
+            long count = ndjsonWriter.write(feedbacks, this::convertEntityToDTO, entityManager::detach, out);
+            log.info("Exported {} feedbacks", count);
+            return count;
+        }
+    }
+
     @Transactional(readOnly = true)
     public GuestFeedbackDTO getFeedbackById(Long id) {
         try {
@@ -100,6 +236,7 @@ public class GuestFeedbackService {
             GuestFeedback existingFeedback = feedbackRepository.findById(id)
                     .orElseThrow(() -> new GuestFeedbackException("NOT_FOUND", 
                             "Feedback with ID " + id + " not found"));
+            RatedFeedback before = RatedFeedback.of(existingFeedback);
 
             existingFeedback.setGuestName(feedbackDTO.getGuestName().trim());
             existingFeedback.setGuestEmail(feedbackDTO.getGuestEmail().trim());
@@ -112,6 +249,8 @@ public class GuestFeedbackService {
             existingFeedback.setSuggestions(feedbackDTO.getSuggestions() != null ? feedbackDTO.getSuggestions().trim() : null);
 
             GuestFeedback updatedFeedback = feedbackRepository.save(existingFeedback);
+            ratingAggregator.changed(before, RatedFeedback.of(updatedFeedback));
+            eventPublisher.publishEvent(FeedbackChangedEvent.saved(updatedFeedback));
             log.info("Successfully updated feedback with ID: {}", id);
             
             return convertEntityToDTO(updatedFeedback);
@@ -128,12 +267,13 @@ public class GuestFeedbackService {
         try {
             log.info("Deleting feedback with ID: {}", id);
             
-            if (!feedbackRepository.existsById(id)) {
-                throw new GuestFeedbackException("NOT_FOUND", 
-                        "Feedback with ID " + id + " not found");
-            }
-            
-            feedbackRepository.deleteById(id);
+            GuestFeedback feedback = feedbackRepository.findById(id)
+                    .orElseThrow(() -> new GuestFeedbackException("NOT_FOUND",
+                            "Feedback with ID " + id + " not found"));
+
+            feedbackRepository.delete(feedback);
+            ratingAggregator.removed(RatedFeedback.of(feedback));
+            eventPublisher.publishEvent(FeedbackChangedEvent.deleted(id));
             log.info("Successfully deleted feedback with ID: {}", id);
         } catch (GuestFeedbackException ex) {
             throw ex;
@@ -144,53 +284,36 @@ public class GuestFeedbackService {
         }
     }
 
+    /**
+     * Searches with whichever filters are present, always one bounded, sorted page at a time.
+     */
     @Transactional(readOnly = true)
-    public List<GuestFeedbackDTO> searchAndFilter(String name, Long id, 
-                                                    String roomNumber,
-                                                    Integer minRating, Integer maxRating) {
+    public Page<GuestFeedbackDTO> searchAndFilter(String name, Long id, String roomNumber,
+                                                  Integer minRating, Integer maxRating,
+                                                  int pageNo, int pageSize, String sortBy, String sortDir) {
         try {
-            log.info("Searching and filtering feedbacks - name: {}, id: {}, roomNumber: {}, minRating: {}, maxRating: {}", 
+            log.debug("Searching and filtering feedbacks - name: {}, id: {}, roomNumber: {}, minRating: {}, maxRating: {}",
                     name, id, roomNumber, minRating, maxRating);
-            
-            List<GuestFeedback> results;
-            
-            if (id != null) {
-                GuestFeedback feedback = feedbackRepository.findById(id).orElse(null);
-                results = feedback != null ? List.of(feedback) : List.of();
-            } else if (name != null && !name.trim().isEmpty() && 
-                     roomNumber != null && !roomNumber.trim().isEmpty() && 
-                     minRating != null && maxRating != null) {
-                results = feedbackRepository.findByNameRoomAndRating(
-                        name.trim(), roomNumber.trim(), minRating, maxRating);
-            } else if (name != null && !name.trim().isEmpty() && 
-                     minRating != null && maxRating != null) {
-                results = feedbackRepository.findByNameAndRatingRange(
-                        name.trim(), minRating, maxRating);
-            } else if (name != null && !name.trim().isEmpty() && 
-                     roomNumber != null && !roomNumber.trim().isEmpty()) {
-                results = feedbackRepository.findByNameAndRoomNumber(name.trim(), roomNumber.trim());
-            } else if (roomNumber != null && !roomNumber.trim().isEmpty() && 
-                     minRating != null && maxRating != null) {
-                results = feedbackRepository.findByRoomNumberAndRatingRange(
-                        roomNumber.trim(), minRating, maxRating);
-            } else if (name != null && !name.trim().isEmpty()) {
-                results = feedbackRepository.findByGuestNameContainingIgnoreCase(name.trim());
-            } else if (roomNumber != null && !roomNumber.trim().isEmpty()) {
-                results = feedbackRepository.findByRoomNumber(roomNumber.trim());
-            } else if (minRating != null && maxRating != null) {
-                results = feedbackRepository.findByRatingBetween(minRating, maxRating);
-            } else if (minRating != null) {
-                results = feedbackRepository.findByRatingGreaterThanEqual(minRating);
-            } else if (maxRating != null) {
-                results = feedbackRepository.findByRatingLessThanEqual(maxRating);
-            } else {
-                results = feedbackRepository.findAll();
+
+            if (!SEARCH_SORT_FIELDS.contains(sortBy)) {
+                throw new GuestFeedbackException("INVALID_SEARCH",
+                        "Cannot sort by '" + sortBy + "'. Allowed: " + SEARCH_SORT_FIELDS);
             }
-            
-            log.info("Found {} matching feedbacks", results.size());
-            return results.stream()
-                    .map(this::convertEntityToDTO)
-                    .collect(Collectors.toList());
+            Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+            Pageable pageable = PageRequest.of(Math.max(pageNo, 0), Math.min(Math.max(pageSize, 1), MAX_SEARCH_PAGE_SIZE),
+                    Sort.by(direction, sortBy).and(Sort.by(direction, "feedbackId")));
+
+            Specification<GuestFeedback> spec = Specification.where(GuestFeedbackSpecifications.hasId(id))
+                    .and(GuestFeedbackSpecifications.nameStartsWith(name))
+                    .and(GuestFeedbackSpecifications.inRoom(roomNumber))
+                    .and(GuestFeedbackSpecifications.ratingAtLeast(minRating))
+                    .and(GuestFeedbackSpecifications.ratingAtMost(maxRating));
+
+            Page<GuestFeedbackDTO> results = feedbackRepository.findAll(spec, pageable).map(this::convertEntityToDTO);
+            log.debug("Found {} matching feedbacks", results.getTotalElements());
+            return results;
+        } catch (GuestFeedbackException ex) {
+            throw ex;
         } catch (Exception ex) {
             log.error("Error searching/filtering feedbacks: {}", ex.getMessage(), ex);
             throw new GuestFeedbackException("SEARCH_ERROR", 
@@ -198,6 +321,51 @@ public class GuestFeedbackService {
         }
     }
 
+    /**
+     * Ranked full-text search over the feedback text; rows come back in relevance order.
+     */
+    @Transactional(readOnly = true)
+    public FeedbackTextSearchDTO searchText(String text, String roomNumber, Integer minRating, Integer maxRating,
+                                          int pageNo, int pageSize) {
+        try {
+            FeedbackTextHits hits = searchIndex.search(text, roomNumber, minRating, maxRating, pageNo, pageSize);
+            Map<Long, GuestFeedback> rows = feedbackRepository.findAllById(hits.feedbackIds()).stream()
+                    .collect(Collectors.toMap(GuestFeedback::getFeedbackId, Function.identity()));
+
+            List<GuestFeedbackDTO> feedbacks = new ArrayList<>();
+            List<Float> scores = new ArrayList<>();
+            for (int i = 0; i < hits.feedbackIds().size(); i++) {
+                GuestFeedback feedback = rows.get(hits.feedbackIds().get(i));
+                if (feedback != null) {
+                    feedbacks.add(convertEntityToDTO(feedback));
+                    scores.add(hits.scores().get(i));
+                }
+            }
+
+            return new FeedbackTextSearchDTO(hits.totalHits(), feedbacks, scores);
+        } catch (GuestFeedbackException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Error running text search '{}': {}", text, ex.getMessage(), ex);
+            throw new GuestFeedbackException("SEARCH_ERROR",
+                    "Failed to search feedback text: " + ex.getMessage(), ex);
+        }
+    }
+
+    private GuestFeedback toEntity(GuestFeedbackDTO feedbackDTO) {
+        return GuestFeedback.builder()
+                .guestName(feedbackDTO.getGuestName().trim())
+                .guestEmail(feedbackDTO.getGuestEmail().trim())
+                .roomNumber(feedbackDTO.getRoomNumber() != null ? feedbackDTO.getRoomNumber().trim() : null)
+                .rating(feedbackDTO.getRating())
+                .serviceQuality(feedbackDTO.getServiceQuality().trim())
+                .roomCleanliness(feedbackDTO.getRoomCleanliness().trim())
+                .amenitiesFeedback(feedbackDTO.getAmenitiesFeedback().trim())
+                .overallExperience(feedbackDTO.getOverallExperience().trim())
+                .suggestions(feedbackDTO.getSuggestions() != null ? feedbackDTO.getSuggestions().trim() : null)
+                .build();
+    }
+
     private GuestFeedbackDTO convertEntityToDTO(GuestFeedback feedback) {
         String formattedCreatedAt = feedback.getCreatedAt() != null 
             ? feedback.getCreatedAt().format(DATE_FORMATTER) 
@@ -0,0 +1,178 @@
+package com.hotel.form.stats;
+
+import com.hotel.form.entity.AggregateScope;
+import com.hotel.form.entity.GuestFeedback;
+import com.hotel.form.repository.FeedbackRatingAggregateRepository;
+import com.hotel.form.repository.GuestFeedbackRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps {@code feedback_rating_aggregates} in step with {@code guest_feedbacks}. Each change is applied as
+ * signed deltas through one batched MySQL upsert inside the caller's transaction, so the aggregates commit
+ * or roll back together with the feedback row. Rows are always upserted in (scope, key) order, so
+ * concurrent writers lock them in the same order and queue instead of deadlocking, even when a
+ * change nets to zero on ALL and touches only two room rows.
+ */
+@Component
+@Slf4j
+public class FeedbackRatingAggregator {
+
+    private static final String UPSERT =
+            "INSERT INTO feedback_rating_aggregates "
+            + "(scope, scope_key, feedback_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "feedback_count = feedback_count + VALUES(feedback_count), "
+            + "rating_sum = rating_sum + VALUES(rating_sum), "
+            + "rating_1 = rating_1 + VALUES(rating_1), "
+            + "rating_2 = rating_2 + VALUES(rating_2), "
+            + "rating_3 = rating_3 + VALUES(rating_3), "
+            + "rating_4 = rating_4 + VALUES(rating_4), "
+            + "rating_5 = rating_5 + VALUES(rating_5)";
+
+    private static final String HISTOGRAM_COLUMNS =
+            "COUNT(*), COALESCE(SUM(rating), 0), SUM(rating = 1), SUM(rating = 2), SUM(rating = 3), "
+            + "SUM(rating = 4), SUM(rating = 5) FROM guest_feedbacks";
+
+    private static final String INSERT_COLUMNS =
+            "INSERT INTO feedback_rating_aggregates "
+            + "(scope, scope_key, feedback_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) ";
+
+    // Scope in declaration order (ALL, ROOM, DAY), then key
+    private static final Comparator<Object[]> LOCK_ORDER = Comparator
+            .<Object[], AggregateScope>comparing(row -> AggregateScope.valueOf((String) row[0]))
+            .thenComparing(row -> (String) row[1]);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedbackRatingAggregateRepository aggregateRepository;
+    private final GuestFeedbackRepository feedbackRepository;
+
+    public FeedbackRatingAggregator(JdbcTemplate jdbcTemplate, FeedbackRatingAggregateRepository aggregateRepository,
+                                    GuestFeedbackRepository feedbackRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.aggregateRepository = aggregateRepository;
+        this.feedbackRepository = feedbackRepository;
+    }
+
+    /**
+     * The parts of a feedback the aggregates depend on; capture it before mutating the entity.
+     */
+    public record RatedFeedback(String roomNumber, LocalDate day, int rating) {
+
+        public static RatedFeedback of(GuestFeedback feedback) {
+            String room = feedback.getRoomNumber() == null || feedback.getRoomNumber().isBlank()
+                    ? null : feedback.getRoomNumber();
+            return new RatedFeedback(room, feedback.getCreatedAt().toLocalDate(), feedback.getRating());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void added(RatedFeedback feedback) {
+        apply(deltas(feedback, 1, new ArrayList<>()));
+    }
+
+    // Batched ingestion: the deltas of the whole batch are merged into one upsert per scope row
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addedAll(List<RatedFeedback> feedbacks) {
+        List<Object[]> rows = new ArrayList<>();
+        feedbacks.forEach(feedback -> deltas(feedback, 1, rows));
+        apply(rows);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removed(RatedFeedback feedback) {
+        apply(deltas(feedback, -1, new ArrayList<>()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changed(RatedFeedback before, RatedFeedback after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        // Unchanged scopes net to zero and are dropped, so a rating change on the same room/day is 3 rows
+        List<Object[]> rows = deltas(before, -1, new ArrayList<>());
+        deltas(after, 1, rows);
+        apply(rows);
+    }
+
+    /**
+     * Rebuilds every aggregate from the feedback table if the overall count has drifted from it
+     * (first start, or rows changed outside the service).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfStale() {
+        long expected = feedbackRepository.count();
+        long actual = aggregateRepository.findByScopeAndScopeKey(AggregateScope.ALL, "")
+                .map(aggregate -> aggregate.getFeedbackCount())
+                .orElse(-1L);
+        if (actual == expected) {
+            return;
+        }
+        log.info("Rebuilding feedback rating aggregates ({} counted, {} feedbacks)", actual, expected);
+        jdbcTemplate.update("DELETE FROM feedback_rating_aggregates");
+        jdbcTemplate.update(INSERT_COLUMNS + "SELECT 'ALL', '', " + HISTOGRAM_COLUMNS);
+        jdbcTemplate.update(INSERT_COLUMNS + "SELECT 'ROOM', room_number, " + HISTOGRAM_COLUMNS
+                + " WHERE room_number IS NOT NULL AND room_number <> '' GROUP BY room_number");
+        jdbcTemplate.update(INSERT_COLUMNS + "SELECT 'DAY', DATE_FORMAT(created_at, '%Y-%m-%d'), " + HISTOGRAM_COLUMNS
+                + " GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d')");
+    }
+
+    private void apply(List<Object[]> rows) {
+        // Merge deltas on the same scope row
+        Map<String, Object[]> merged = new HashMap<>();
+        for (Object[] row : rows) {
+            Object[] existing = merged.putIfAbsent(row[0] + "|" + row[1], row);
+            if (existing != null) {
+                for (int i = 2; i < row.length; i++) {
+                    existing[i] = (Long) existing[i] + (Long) row[i];
+                }
+            }
+        }
+        List<Object[]> changed = merged.values().stream()
+                .filter(row -> {
+                    for (int i = 2; i < row.length; i++) {
+                        if ((Long) row[i] != 0) {
+                            return true;
+                        }
+                    }
+                    return false;
+                })
+                .sorted(LOCK_ORDER)
+                .toList();
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, changed);
+        }
+    }
+
+    private static List<Object[]> deltas(RatedFeedback feedback, long sign, List<Object[]> rows) {
+        rows.add(row(AggregateScope.ALL, "", feedback.rating(), sign));
+        if (feedback.roomNumber() != null) {
+            rows.add(row(AggregateScope.ROOM, feedback.roomNumber(), feedback.rating(), sign));
+        }
+        rows.add(row(AggregateScope.DAY, feedback.day().toString(), feedback.rating(), sign));
+        return rows;
+    }
+
+    private static Object[] row(AggregateScope scope, String key, int rating, long sign) {
+        Object[] row = {scope.name(), key, sign, sign * rating, 0L, 0L, 0L, 0L, 0L};
+        if (rating >= 1 && rating <= 5) {
+            row[3 + rating] = sign;
+        }
+        return row;
+    }
+}
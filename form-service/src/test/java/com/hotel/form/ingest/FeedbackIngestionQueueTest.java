@@ -0,0 +1,56 @@
+package com.hotel.form.ingest;
+
+import com.hotel.form.entity.GuestFeedback;
+import com.hotel.form.repository.GuestFeedbackBatchRepository;
+import com.hotel.form.search.FeedbackSearchIndex;
+import com.hotel.form.stats.FeedbackRatingAggregator;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FeedbackIngestionQueueTest {
+
+    @Test
+    void indexFailureAfterCommitDoesNotWriteTheBatchAgain() throws Exception {
+        GuestFeedbackBatchRepository batchRepository = mock(GuestFeedbackBatchRepository.class);
+        FeedbackSearchIndex searchIndex = mock(FeedbackSearchIndex.class);
+        doThrow(new AlreadyClosedException("index closed")).when(searchIndex).indexAll(anyList());
+        FeedbackIngestionQueue queue = new FeedbackIngestionQueue(batchRepository, mock(FeedbackRatingAggregator.class),
+                searchIndex, mock(PlatformTransactionManager.class), 10, 10, 20, 50, 10, 1000);
+
+        queue.start();
+        assertTrue(queue.submit(feedback()));
+        // Drains the queue; a retry loop would have rewritten the batch every 10 ms meanwhile
+        Thread.sleep(300);
+        queue.shutdown();
+
+        verify(batchRepository, times(1)).insertAll(anyList());
+        verify(searchIndex, times(1)).indexAll(anyList());
+        assertEquals(1L, queue.stats().get("written"));
+        assertEquals(0L, queue.stats().get("dropped"));
+    }
+
+    private static GuestFeedback feedback() {
+        return GuestFeedback.builder()
+                .guestName("Ada")
+                .guestEmail("ada@example.com")
+                .roomNumber("101")
+                .rating(4)
+                .serviceQuality("good")
+                .roomCleanliness("clean")
+                .amenitiesFeedback("fine")
+                .overallExperience("nice")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
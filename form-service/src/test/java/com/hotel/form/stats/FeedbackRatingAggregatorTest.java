@@ -0,0 +1,55 @@
+package com.hotel.form.stats;
+
+import com.hotel.form.repository.FeedbackRatingAggregateRepository;
+import com.hotel.form.repository.GuestFeedbackRepository;
+import com.hotel.form.stats.FeedbackRatingAggregator.RatedFeedback;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FeedbackRatingAggregatorTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final FeedbackRatingAggregator aggregator = new FeedbackRatingAggregator(jdbcTemplate,
+            mock(FeedbackRatingAggregateRepository.class), mock(GuestFeedbackRepository.class));
+
+    @Test
+    void oppositeRoomMovesLockRowsInTheSameOrder() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        RatedFeedback inRoom101 = new RatedFeedback("101", day, 4);
+        RatedFeedback inRoom205 = new RatedFeedback("205", day, 4);
+
+        aggregator.changed(inRoom205, inRoom101);
+        aggregator.changed(inRoom101, inRoom205);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        // ALL and DAY net to zero, so only the two room rows are written, always 101 before 205
+        for (List<Object[]> batch : batches.getAllValues()) {
+            assertEquals(List.of("ROOM|101", "ROOM|205"), batch.stream().map(row -> row[0] + "|" + row[1]).toList());
+        }
+    }
+
+    @Test
+    void rowsAreWrittenInScopeThenKeyOrder() {
+        aggregator.addedAll(List.of(
+                new RatedFeedback("305", LocalDate.of(2026, 3, 2), 5),
+                new RatedFeedback("101", LocalDate.of(2026, 3, 1), 3)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        assertEquals(List.of("ALL|", "ROOM|101", "ROOM|305", "DAY|2026-03-01", "DAY|2026-03-02"),
+                batch.getValue().stream().map(row -> row[0] + "|" + row[1]).toList());
+    }
+}
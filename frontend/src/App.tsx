@@ -5,6 +5,7 @@ import CssBaseline from '@mui/material/CssBaseline';
 import { Box, CircularProgress } from '@mui/material';
 import MainLayout from './components/Layout/MainLayout';
 import Login from './pages/Login';
+import { authAPI } from './services/api';
 
 // Lazy load pages
 const Dashboard = lazy(() => import('./pages/Dashboard'));
@@ -48,13 +49,16 @@ function App() {
       } catch (e) {
         localStorage.removeItem('user');
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
       }
     }
     setLoading(false);
   }, []);
 
   const handleLogout = () => {
+    authAPI.logout().catch(() => undefined);
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
     setUser(null);
   };
@@ -12,7 +12,7 @@ import {
   Tabs,
   Paper
 } from '@mui/material';
-import { authAPI, LoginRequest, RegisterRequest } from '../services/api';
+import { authAPI, storeTokens, LoginRequest, RegisterRequest } from '../services/api';
 
 interface TabPanelProps {
   children?: React.ReactNode;
@@ -53,7 +53,7 @@ const Login: React.FC = () => {
     e.preventDefault();
     try {
       const response = await authAPI.login(loginData);
-      localStorage.setItem('token', response.token);
+      storeTokens(response);
       localStorage.setItem('user', JSON.stringify({
         username: response.username,
         role: response.role
@@ -71,7 +71,7 @@ const Login: React.FC = () => {
     e.preventDefault();
     try {
       const response = await authAPI.register(registerData);
-      localStorage.setItem('token', response.token);
+      storeTokens(response);
       localStorage.setItem('user', JSON.stringify({
         username: response.username,
         role: response.role
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { AxiosError, AxiosInstance, InternalAxiosRequestConfig } from 'axios';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -23,6 +23,8 @@ export interface StaffRequest {
 
 export interface AuthResponse {
   token: string;
+  refreshToken: string;
+  expiresIn: number;
   username: string;
   role: 'ROLE_USER' | 'ROLE_RECEPTIONIST' | 'ROLE_MANAGER';
 }
@@ -48,12 +50,66 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+export const storeTokens = (response: AuthResponse) => {
+  localStorage.setItem('token', response.token);
+  localStorage.setItem('refreshToken', response.refreshToken);
+};
+
+let pendingRefresh: Promise<string> | null = null;
+
+// Access tokens are short-lived: on a 401, renew once (shared by concurrent requests) and replay the request
+export const installTokenRefresh = (instance: AxiosInstance) => {
+  instance.interceptors.response.use(undefined, async (error: AxiosError) => {
+    const original = error.config as (InternalAxiosRequestConfig & { retried?: boolean }) | undefined;
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (error.response?.status !== 401 || !original || original.retried || !refreshToken) {
+      return Promise.reject(error);
+    }
+    original.retried = true;
+
+    if (!pendingRefresh) {
+      pendingRefresh = axios.post<AuthResponse>(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+        .then((response) => {
+          storeTokens(response.data);
+          return response.data.token;
+        })
+        .finally(() => {
+          pendingRefresh = null;
+        });
+    }
+
+    try {
+      const token = await pendingRefresh;
+      original.headers.Authorization = `Bearer ${token}`;
+      return instance(original);
+    } catch (refreshError) {
+      localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
+      localStorage.removeItem('user');
+      return Promise.reject(error);
+    }
+  });
+};
+
+installTokenRefresh(api);
+
 export const authAPI = {
   login: async (data: LoginRequest): Promise<AuthResponse> => {
     const response = await api.post('/auth/login', data);
     return response.data;
   },
 
+  // Reads both tokens up front so callers can clear storage without waiting for the request
+  logout: async (): Promise<void> => {
+    const token = localStorage.getItem('token');
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      await api.post('/auth/logout', { refreshToken }, {
+        headers: token ? { Authorization: `Bearer ${token}` } : {},
+      });
+    }
+  },
+
   register: async (data: RegisterRequest): Promise<AuthResponse> => {
     const response = await api.post('/auth/register', data);
     return response.data;
@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { installTokenRefresh } from './auth';
 import { GuestResponse } from './guests';
 import { RoomResponse } from './rooms';
 
@@ -42,6 +43,8 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+installTokenRefresh(api);
+
 const formatDateTime = (dateString: string): string => {
   if (!dateString) return '';
   const date = new Date(dateString);
@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { installTokenRefresh } from './auth';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -35,6 +36,8 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+installTokenRefresh(api);
+
 export const feedbacksAPI = {
   submitFeedback: async (data: GuestFeedbackDTO): Promise<FeedbackResponse> => {
     const response = await api.post('/feedbacks/submit', data);
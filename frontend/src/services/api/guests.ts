@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { installTokenRefresh } from './auth';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -31,6 +32,8 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+installTokenRefresh(api);
+
 export const guestsAPI = {
   createGuest: async (data: GuestRequest): Promise<GuestResponse> => {
     const response = await api.post('/guests', data);
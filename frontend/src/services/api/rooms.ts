@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { installTokenRefresh } from './auth';
 
 const API_BASE_URL = 'http://localhost:8080/api';
 
@@ -41,6 +42,8 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+installTokenRefresh(api);
+
 export const roomsAPI = {
   createRoom: async (data: RoomRequest): Promise<RoomResponse> => {
     const response = await api.post('/rooms', data);
@@ -1,14 +1,19 @@
 package com.hotel.guests.controller;
 
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
+import com.hotel.common.export.NdjsonStreamWriter;
 import com.hotel.guests.dto.GuestRequestDTO;
 import com.hotel.guests.dto.GuestResponseDTO;
 import com.hotel.guests.service.GuestService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -37,6 +42,12 @@ public class GuestController {
         return ResponseEntity.ok(guestService.getGuestById(id));
     }
 
+    @GetMapping("/batch")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<List<GuestResponseDTO>> getGuestsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(guestService.getGuestsByIds(ids));
+    }
+
     @GetMapping("/phone/{phone}")
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
     public ResponseEntity<GuestResponseDTO> getGuestByPhone(@PathVariable String phone) 
@@ -60,6 +71,25 @@ public class GuestController {
         return ResponseEntity.ok(guestService.getAllGuests(pageNo, pageSize));
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<CursorPage<GuestResponseDTO>> getGuestsAfter(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(guestService.getGuestsAfter(after, limit));
+    }
+
+    // All guests as NDJSON, written row by row while the cursor is read
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportGuests() {
+        StreamingResponseBody body = out -> guestService.exportGuests(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonStreamWriter.CONTENT_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"guests.ndjson\"")
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('MANAGER')")
     public ResponseEntity<String> deleteGuest(@PathVariable Long id) 
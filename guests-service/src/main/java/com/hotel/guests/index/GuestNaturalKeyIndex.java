@@ -0,0 +1,199 @@
+package com.hotel.guests.index;
+
+import com.hotel.guests.model.Guest;
+import com.hotel.guests.repository.GuestNaturalKeys;
+import com.hotel.guests.repository.GuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map from each guest's natural keys (phone, email, ID proof number) to its id, so duplicate
+ * checks for unused keys need no query and phone hits become primary-key reads. Loaded at startup and
+ * updated by the guest service after each write; while it is still loading (or disabled) lookups go to
+ * the database in a single query. Keys are compared case-insensitively, as MySQL's default collation
+ * does. Writes made by other instances are not seen, so index answers that would reject a request or
+ * miss a guest are confirmed against the database, and the unique phone and email columns remain the
+ * final guard.
+ */
+@Component
+public class GuestNaturalKeyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestNaturalKeyIndex.class);
+
+    public enum Key { PHONE, EMAIL, ID_PROOF }
+
+    private final GuestRepository guestRepository;
+    private final boolean enabled;
+
+    private final Map<Long, GuestKeys> keysById = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByPhone = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByIdProof = new ConcurrentHashMap<>();
+
+    // Writes seen while the initial load is running are replayed on top of it
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean warm;
+
+    public GuestNaturalKeyIndex(GuestRepository guestRepository,
+                                @Value("${guests.natural-key-index.enabled:true}") boolean enabled) {
+        this.guestRepository = guestRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingWrites) {
+            loading = true;
+        }
+
+        long started = System.currentTimeMillis();
+        for (GuestNaturalKeys keys : guestRepository.findAllNaturalKeys()) {
+            index(keys.getId(), new GuestKeys(normalize(keys.getPhone()), normalize(keys.getEmail()),
+                    normalize(keys.getIdProofNumber())));
+        }
+
+        synchronized (pendingWrites) {
+            pendingWrites.forEach(Runnable::run);
+            pendingWrites.clear();
+            loading = false;
+            warm = true;
+        }
+        logger.info("Guest natural-key index loaded {} guests in {} ms",
+                keysById.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Returns the first key (phone, then email, then ID proof) already used by a guest other than
+     * {@code excludeId}, or null. Null values are not checked.
+     */
+    public Key findConflict(String phone, String email, String idProofNumber, Long excludeId) {
+        if (warm && !isTakenBy(idsByPhone, phone, excludeId) && !isTakenBy(idsByEmail, email, excludeId)
+                && !isTakenBy(idsByIdProof, idProofNumber, excludeId)) {
+            return null;
+        }
+        // A hit may be stale (the guest was changed or deleted on another instance), so confirm it
+        return findConflictInDatabase(phone, email, idProofNumber, excludeId);
+    }
+
+    /**
+     * Looks a guest up by phone. A hit becomes a primary-key read checked against the stored phone; a
+     * miss or a stale hit falls back to the phone query, and a guest found that way is indexed.
+     */
+    public Optional<Guest> findByPhone(String phone) {
+        if (!warm || phone == null) {
+            return guestRepository.findByPhone(phone);
+        }
+        Long id = idsByPhone.get(normalize(phone));
+        if (id != null) {
+            Optional<Guest> hit = guestRepository.findById(id).filter(guest -> sameKey(guest.getPhone(), phone));
+            if (hit.isPresent()) {
+                return hit;
+            }
+        }
+        Optional<Guest> guest = guestRepository.findByPhone(phone);
+        guest.ifPresent(this::put);
+        return guest;
+    }
+
+    public void put(Guest guest) {
+        GuestKeys keys = new GuestKeys(normalize(guest.getPhone()), normalize(guest.getEmail()),
+                normalize(guest.getIdProofNumber()));
+        write(() -> index(guest.getId(), keys));
+    }
+
+    public void remove(Long guestId) {
+        write(() -> unindex(guestId));
+    }
+
+    private void write(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingWrites) {
+            if (loading) {
+                pendingWrites.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    private synchronized void index(Long id, GuestKeys keys) {
+        unindex(id);
+        keysById.put(id, keys);
+        putIfPresent(idsByPhone, keys.phone(), id);
+        putIfPresent(idsByEmail, keys.email(), id);
+        putIfPresent(idsByIdProof, keys.idProofNumber(), id);
+    }
+
+    private synchronized void unindex(Long id) {
+        GuestKeys old = keysById.remove(id);
+        if (old != null) {
+            removeIfOwned(idsByPhone, old.phone(), id);
+            removeIfOwned(idsByEmail, old.email(), id);
+            removeIfOwned(idsByIdProof, old.idProofNumber(), id);
+        }
+    }
+
+    private Key findConflictInDatabase(String phone, String email, String idProofNumber, Long excludeId) {
+        List<Guest> matches = new ArrayList<>(
+                guestRepository.findByPhoneOrEmailOrIdProofNumber(phone, email, idProofNumber));
+        matches.removeIf(guest -> guest.getId().equals(excludeId));
+        if (matches.stream().anyMatch(guest -> sameKey(guest.getPhone(), phone))) {
+            return Key.PHONE;
+        }
+        if (matches.stream().anyMatch(guest -> sameKey(guest.getEmail(), email))) {
+            return Key.EMAIL;
+        }
+        if (matches.stream().anyMatch(guest -> sameKey(guest.getIdProofNumber(), idProofNumber))) {
+            return Key.ID_PROOF;
+        }
+        return null;
+    }
+
+    private static boolean isTakenBy(Map<String, Long> ids, String value, Long excludeId) {
+        if (value == null) {
+            return false;
+        }
+        Long owner = ids.get(normalize(value));
+        return owner != null && !owner.equals(excludeId);
+    }
+
+    private static boolean sameKey(String stored, String requested) {
+        return requested != null && stored != null && normalize(stored).equals(normalize(requested));
+    }
+
+    private static void putIfPresent(Map<String, Long> ids, String key, Long id) {
+        if (key != null) {
+            ids.put(key, id);
+        }
+    }
+
+    private static void removeIfOwned(Map<String, Long> ids, String key, Long id) {
+        if (key != null) {
+            ids.remove(key, id);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record GuestKeys(String phone, String email, String idProofNumber) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.hotel.guests.repository;
+
+// Just the columns the natural-key index needs
+public interface GuestNaturalKeys {
+
+    Long getId();
+
+    String getPhone();
+
+    String getEmail();
+
+    String getIdProofNumber();
+}
@@ -1,10 +1,18 @@
 package com.hotel.guests.repository;
 
 import com.hotel.guests.model.Guest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GuestRepository extends JpaRepository<Guest, Long> {
@@ -13,4 +21,19 @@ public interface GuestRepository extends JpaRepository<Guest, Long> {
     boolean existsByPhone(String phone);
     boolean existsByEmail(String email);
     boolean existsByIdProofNumber(String idProofNumber);
+    Slice<Guest> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // One round trip for all three duplicate checks when the in-memory index is not available
+    List<Guest> findByPhoneOrEmailOrIdProofNumber(String phone, String email, String idProofNumber);
+
+    @Query("SELECT g.id AS id, g.phone AS phone, g.email AS email, g.idProofNumber AS idProofNumber FROM Guest g")
+    List<GuestNaturalKeys> findAllNaturalKeys();
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result set
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM Guest g ORDER BY g.id")
+    Stream<Guest> streamAll();
 }
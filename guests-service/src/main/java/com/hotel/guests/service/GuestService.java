@@ -1,9 +1,11 @@
 package com.hotel.guests.service;
 
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.guests.dto.GuestRequestDTO;
 import com.hotel.guests.dto.GuestResponseDTO;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface GuestService {
@@ -13,4 +15,7 @@ public interface GuestService {
     GuestResponseDTO updateGuest(Long id, GuestRequestDTO request) throws ResourceNotFoundException;
     void deleteGuest(Long id) throws ResourceNotFoundException;
     List<GuestResponseDTO> getAllGuests(int pageNo, int pageSize) throws ResourceNotFoundException;
+    CursorPage<GuestResponseDTO> getGuestsAfter(Long after, int limit);
+    List<GuestResponseDTO> getGuestsByIds(List<Long> ids);
+    long exportGuests(OutputStream out);
 }
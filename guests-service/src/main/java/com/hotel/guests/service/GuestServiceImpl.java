@@ -1,40 +1,55 @@
 package com.hotel.guests.service;
 
+import com.hotel.common.dto.CursorPage;
+import com.hotel.common.event.ResourceChangedEvent;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.common.exception.DuplicateResourceException;
+import com.hotel.common.export.NdjsonStreamWriter;
 import com.hotel.guests.dto.GuestRequestDTO;
 import com.hotel.guests.dto.GuestResponseDTO;
+import com.hotel.guests.index.GuestNaturalKeyIndex;
 import com.hotel.guests.model.Guest;
 import com.hotel.guests.repository.GuestRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class GuestServiceImpl implements GuestService {
 
     private final GuestRepository guestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonStreamWriter ndjsonWriter;
+    private final EntityManager entityManager;
+    private final GuestNaturalKeyIndex naturalKeyIndex;
 
-    public GuestServiceImpl(GuestRepository guestRepository) {
+    public GuestServiceImpl(GuestRepository guestRepository, ApplicationEventPublisher eventPublisher,
+                            NdjsonStreamWriter ndjsonWriter, EntityManager entityManager,
+                            GuestNaturalKeyIndex naturalKeyIndex) {
         this.guestRepository = guestRepository;
+        this.eventPublisher = eventPublisher;
+        this.ndjsonWriter = ndjsonWriter;
+        this.entityManager = entityManager;
+        this.naturalKeyIndex = naturalKeyIndex;
     }
 
     @Override
     public GuestResponseDTO addGuest(GuestRequestDTO request) throws ResourceNotFoundException {
-        if (guestRepository.existsByPhone(request.getPhoneNumber())) {
-            throw new DuplicateResourceException("Guest with phone " + request.getPhoneNumber() + " already exists!");
-        }
-        if (guestRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateResourceException("Guest with email " + request.getEmail() + " already exists!");
-        }
-        if (guestRepository.existsByIdProofNumber(request.getIdProofNumber())) {
-            throw new DuplicateResourceException("Guest with ID Proof Number " + request.getIdProofNumber() + " already exists!");
-        }
+        rejectDuplicate(request.getPhoneNumber(), request.getEmail(), request.getIdProofNumber(), null);
         Guest guest = new Guest();
         guest.setName(request.getName());
         guest.setEmail(request.getEmail());
@@ -42,7 +57,8 @@ public class GuestServiceImpl implements GuestService {
         guest.setIdProofNumber(request.getIdProofNumber());
         guest.setAddress(request.getAddress());
 
-        Guest savedGuest = guestRepository.save(guest);
+        Guest savedGuest = saveUnique(guest);
+        naturalKeyIndex.put(savedGuest);
         return mapToDTO(savedGuest);
     }
 
@@ -55,9 +71,8 @@ public class GuestServiceImpl implements GuestService {
 
     @Override
     public GuestResponseDTO getGuestByPhone(String phone) throws ResourceNotFoundException {
-        Guest guest = guestRepository.findByPhone(phone)
-                .orElseThrow(() -> new ResourceNotFoundException("Guest not found with Phone: " + phone));
-        return mapToDTO(guest);
+        Optional<Guest> guest = naturalKeyIndex.findByPhone(phone);
+        return mapToDTO(guest.orElseThrow(() -> new ResourceNotFoundException("Guest not found with Phone: " + phone)));
     }
 
     @Override
@@ -65,19 +80,17 @@ public class GuestServiceImpl implements GuestService {
         Guest guest = guestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Guest not found with ID: " + id));
 
+        boolean emailChanged = request.getEmail() != null && !request.getEmail().equals(guest.getEmail());
+        boolean phoneChanged = request.getPhoneNumber() != null && !request.getPhoneNumber().equals(guest.getPhone());
+        rejectDuplicate(phoneChanged ? request.getPhoneNumber() : null, emailChanged ? request.getEmail() : null, null, id);
+
         if (request.getName() != null) {
             guest.setName(request.getName());
         }
-        if (request.getEmail() != null && !request.getEmail().equals(guest.getEmail())) {
-            if (guestRepository.findByEmail(request.getEmail()).isPresent()) {
-                throw new DuplicateResourceException("Guest with email " + request.getEmail() + " already exists!");
-            }
+        if (emailChanged) {
             guest.setEmail(request.getEmail());
         }
-        if (request.getPhoneNumber() != null && !request.getPhoneNumber().equals(guest.getPhone())) {
-            if (guestRepository.existsByPhone(request.getPhoneNumber())) {
-                throw new DuplicateResourceException("Guest with phone " + request.getPhoneNumber() + " already exists!");
-            }
+        if (phoneChanged) {
             guest.setPhone(request.getPhoneNumber());
         }
         if (request.getAddress() != null) {
@@ -87,7 +100,11 @@ public class GuestServiceImpl implements GuestService {
             guest.setIdProofNumber(request.getIdProofNumber());
         }
 
-        return mapToDTO(guestRepository.save(guest));
+        Guest savedGuest = saveUnique(guest);
+        naturalKeyIndex.put(savedGuest);
+        GuestResponseDTO updatedGuest = mapToDTO(savedGuest);
+        eventPublisher.publishEvent(new ResourceChangedEvent(ResourceChangedEvent.GUEST, id, ResourceChangedEvent.UPDATED));
+        return updatedGuest;
     }
 
     @Override
@@ -95,6 +112,8 @@ public class GuestServiceImpl implements GuestService {
         Guest guest = guestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Guest not found with ID: " + id));
         guestRepository.delete(guest);
+        naturalKeyIndex.remove(id);
+        eventPublisher.publishEvent(new ResourceChangedEvent(ResourceChangedEvent.GUEST, id, ResourceChangedEvent.DELETED));
     }
 
     @Override
@@ -106,6 +125,56 @@ public class GuestServiceImpl implements GuestService {
                 .collect(Collectors.toList());
     }
 
+    // Keyset pagination by ascending id: no offset scan and no count query
+    @Override
+    public CursorPage<GuestResponseDTO> getGuestsAfter(Long after, int limit) {
+        Slice<Guest> slice = guestRepository.findByIdGreaterThan(
+                after != null ? after : 0L, CursorPage.request(limit, "id", Sort.Direction.ASC));
+        return CursorPage.of(slice, this::mapToDTO, Guest::getId);
+    }
+
+    @Override
+    public List<GuestResponseDTO> getGuestsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return guestRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Streams the whole table through a forward-only cursor; each row is detached once written
+    @Override
+    @Transactional(readOnly = true)
+    public long exportGuests(OutputStream out) {
+        try (Stream<Guest> guests = guestRepository.streamAll()) {
+            return ndjsonWriter.write(guests, this::mapToDTO, entityManager::detach, out);
+        }
+    }
+
+    // One index lookup covers all three unique keys; a hit (or a loading index) costs one query
+    private void rejectDuplicate(String phone, String email, String idProofNumber, Long guestId) {
+        GuestNaturalKeyIndex.Key conflict = naturalKeyIndex.findConflict(phone, email, idProofNumber, guestId);
+        if (conflict == null) {
+            return;
+        }
+        switch (conflict) {
+            case PHONE -> throw new DuplicateResourceException("Guest with phone " + phone + " already exists!");
+            case EMAIL -> throw new DuplicateResourceException("Guest with email " + email + " already exists!");
+            case ID_PROOF -> throw new DuplicateResourceException("Guest with ID Proof Number " + idProofNumber + " already exists!");
+        }
+    }
+
+    // The unique columns still catch a registration racing in from another instance
+    private Guest saveUnique(Guest guest) {
+        try {
+            return guestRepository.save(guest);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateResourceException("Guest with phone " + guest.getPhone()
+                    + " or email " + guest.getEmail() + " already exists!");
+        }
+    }
+
     private GuestResponseDTO mapToDTO(Guest guest) {
         GuestResponseDTO dto = new GuestResponseDTO();
         dto.setId(guest.getId());
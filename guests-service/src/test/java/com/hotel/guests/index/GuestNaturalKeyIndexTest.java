@@ -0,0 +1,81 @@
+package com.hotel.guests.index;
+
+import com.hotel.guests.model.Guest;
+import com.hotel.guests.repository.GuestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GuestNaturalKeyIndexTest {
+
+    private GuestRepository guestRepository;
+    private GuestNaturalKeyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        guestRepository = mock(GuestRepository.class);
+        when(guestRepository.findAllNaturalKeys()).thenReturn(List.of());
+        index = new GuestNaturalKeyIndex(guestRepository, true);
+        index.load();
+    }
+
+    @Test
+    void phoneMissFallsBackToTheDatabase() {
+        // Created by another instance, so this index has never seen it
+        Guest guest = guest(5L, "555-0100", "a@example.com", "P1");
+        when(guestRepository.findByPhone("555-0100")).thenReturn(Optional.of(guest));
+
+        assertEquals(Optional.of(guest), index.findByPhone("555-0100"));
+        // ...and is indexed, so the next lookup is a primary-key read
+        when(guestRepository.findById(5L)).thenReturn(Optional.of(guest));
+        assertEquals(Optional.of(guest), index.findByPhone("555-0100"));
+        verify(guestRepository).findById(5L);
+    }
+
+    @Test
+    void staleDuplicateHitIsConfirmedBeforeRejecting() {
+        index.put(guest(5L, "555-0100", "a@example.com", "P1"));
+        // Another instance has since changed that guest's phone
+        when(guestRepository.findByPhoneOrEmailOrIdProofNumber("555-0100", "b@example.com", "P2"))
+                .thenReturn(List.of());
+
+        assertNull(index.findConflict("555-0100", "b@example.com", "P2", null));
+    }
+
+    @Test
+    void confirmedDuplicateIsRejected() {
+        Guest guest = guest(5L, "555-0100", "a@example.com", "P1");
+        index.put(guest);
+        when(guestRepository.findByPhoneOrEmailOrIdProofNumber("555-0100", "b@example.com", "P2"))
+                .thenReturn(List.of(guest));
+
+        assertEquals(GuestNaturalKeyIndex.Key.PHONE, index.findConflict("555-0100", "b@example.com", "P2", null));
+    }
+
+    @Test
+    void unusedKeysNeedNoQuery() {
+        assertNull(index.findConflict("555-0199", "new@example.com", "P9", null));
+        verify(guestRepository, never()).findByPhoneOrEmailOrIdProofNumber("555-0199", "new@example.com", "P9");
+        assertTrue(index.findByPhone("555-0199").isEmpty());
+    }
+
+    private static Guest guest(Long id, String phone, String email, String idProofNumber) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setName("Guest " + id);
+        guest.setPhone(phone);
+        guest.setEmail(email);
+        guest.setIdProofNumber(idProofNumber);
+        return guest;
+    }
+}
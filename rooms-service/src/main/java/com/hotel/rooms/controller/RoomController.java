@@ -1,16 +1,20 @@
 package com.hotel.rooms.controller;
 
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.common.exception.RoomAlreadyExistsException;
 import com.hotel.rooms.dto.RoomRequestDTO;
 import com.hotel.rooms.dto.RoomResponseDTO;
+import com.hotel.rooms.model.RoomType;
 import com.hotel.rooms.service.RoomsService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -39,6 +43,22 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getAllRooms(pageNo, pageSize));
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST')")
+    public ResponseEntity<CursorPage<RoomResponseDTO>> getRoomsAfter(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(roomService.getRoomsAfter(after, limit));
+    }
+
+    @GetMapping("/available/cursor")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
+    public ResponseEntity<CursorPage<RoomResponseDTO>> getAvailableRoomsAfter(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(roomService.getAvailableRoomsAfter(after, limit));
+    }
+
     @GetMapping("/available")
     @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
     public ResponseEntity<List<RoomResponseDTO>> getAvailableRooms(
@@ -47,6 +67,22 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getAllAvailableRooms(pageNo, pageSize));
     }
 
+    @GetMapping("/availability")
+    @PreAuthorize("hasAnyRole('MANAGER', 'RECEPTIONIST', 'USER')")
+    public ResponseEntity<List<RoomResponseDTO>> searchAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) RoomType roomType,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
+        return ResponseEntity.ok(roomService.searchAvailableRooms(checkIn, checkOut, roomType, minPrice, maxPrice));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<RoomResponseDTO>> getRoomsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(roomService.getRoomsByIds(ids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RoomResponseDTO> getRoomById(@PathVariable Long id) 
             throws ResourceNotFoundException {
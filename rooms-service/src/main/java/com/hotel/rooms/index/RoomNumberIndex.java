@@ -0,0 +1,117 @@
+package com.hotel.rooms.index;
+
+import com.hotel.rooms.model.Room;
+import com.hotel.rooms.repository.RoomNumberKey;
+import com.hotel.rooms.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map from room number to room id, so the duplicate check for an unused room number needs no
+ * query. Loaded at startup and updated by the rooms service after each write; while it is still loading
+ * (or disabled) lookups go to the database. Room numbers are compared case-insensitively, as MySQL's
+ * default collation does. Hits are confirmed against the database, since a room renumbered or deleted
+ * on another instance is not seen here; the unique column remains the guard against other instances.
+ */
+@Component
+public class RoomNumberIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomNumberIndex.class);
+
+    private final RoomRepository roomRepository;
+    private final boolean enabled;
+
+    private final Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final Map<Long, String> numbersById = new ConcurrentHashMap<>();
+
+    // Writes seen while the initial load is running are replayed on top of it
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    private boolean loading;
+    private volatile boolean warm;
+
+    public RoomNumberIndex(RoomRepository roomRepository,
+                           @Value("${rooms.natural-key-index.enabled:true}") boolean enabled) {
+        this.roomRepository = roomRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingWrites) {
+            loading = true;
+        }
+
+        long started = System.currentTimeMillis();
+        for (RoomNumberKey key : roomRepository.findAllRoomNumbers()) {
+            index(key.getId(), key.getRoomNumber());
+        }
+
+        synchronized (pendingWrites) {
+            pendingWrites.forEach(Runnable::run);
+            pendingWrites.clear();
+            loading = false;
+            warm = true;
+        }
+        logger.info("Room number index loaded {} rooms in {} ms",
+                numbersById.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean exists(String roomNumber) {
+        if (warm && !idsByNumber.containsKey(normalize(roomNumber))) {
+            return false;
+        }
+        return roomRepository.existsByRoomNumber(roomNumber);
+    }
+
+    public void put(Room room) {
+        write(() -> index(room.getId(), room.getRoomNumber()));
+    }
+
+    public void remove(Long roomId) {
+        write(() -> unindex(roomId));
+    }
+
+    private void write(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingWrites) {
+            if (loading) {
+                pendingWrites.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    private synchronized void index(Long id, String roomNumber) {
+        unindex(id);
+        String key = normalize(roomNumber);
+        numbersById.put(id, key);
+        idsByNumber.put(key, id);
+    }
+
+    private synchronized void unindex(Long id) {
+        String old = numbersById.remove(id);
+        if (old != null) {
+            idsByNumber.remove(old, id);
+        }
+    }
+
+    private static String normalize(String roomNumber) {
+        return roomNumber.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,9 @@
+package com.hotel.rooms.repository;
+
+// Just the columns the room-number index needs
+public interface RoomNumberKey {
+
+    Long getId();
+
+    String getRoomNumber();
+}
@@ -2,11 +2,16 @@ package com.hotel.rooms.repository;
 
 import com.hotel.rooms.model.Room;
 import com.hotel.rooms.model.RoomStatus;
+import com.hotel.rooms.model.RoomType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +19,19 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     boolean existsByRoomNumber(String roomNumber);
     Page<Room> findByStatus(RoomStatus status, Pageable pageable);
     Optional<Room> findByRoomNumber(String roomNumber);
+    Slice<Room> findByIdGreaterThan(Long id, Pageable pageable);
+    Slice<Room> findByStatusAndIdGreaterThan(RoomStatus status, Long id, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.roomNumber AS roomNumber FROM Room r")
+    List<RoomNumberKey> findAllRoomNumbers();
+
+    @Query("SELECT r FROM Room r WHERE r.status <> :excludedStatus " +
+            "AND (:type IS NULL OR r.type = :type) " +
+            "AND (:minPrice IS NULL OR r.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR r.price <= :maxPrice) " +
+            "ORDER BY r.price ASC, r.id ASC")
+    List<Room> findBookableRooms(@Param("excludedStatus") RoomStatus excludedStatus,
+                                 @Param("type") RoomType type,
+                                 @Param("minPrice") Double minPrice,
+                                 @Param("maxPrice") Double maxPrice);
 }
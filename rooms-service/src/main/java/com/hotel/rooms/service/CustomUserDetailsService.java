@@ -1,28 +0,0 @@
-package com.hotel.rooms.service;
-
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.stereotype.Service;
-
-import java.util.ArrayList;
-
-@Service
-public class CustomUserDetailsService implements UserDetailsService {
-
-    @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // For rooms-service, we validate JWT token only
-        // User details come from the token itself
-        // This is a minimal implementation for JWT validation
-        return org.springframework.security.core.userdetails.User
-                .withUsername(username)
-                .password("")
-                .authorities(new ArrayList<>())
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
-    }
-}
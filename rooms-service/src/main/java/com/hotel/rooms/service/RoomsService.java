@@ -1,10 +1,13 @@
 package com.hotel.rooms.service;
 
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
 import com.hotel.common.exception.RoomAlreadyExistsException;
 import com.hotel.rooms.dto.RoomRequestDTO;
 import com.hotel.rooms.dto.RoomResponseDTO;
+import com.hotel.rooms.model.RoomType;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface RoomsService {
@@ -14,4 +17,9 @@ public interface RoomsService {
     RoomResponseDTO updateRoom(Long id, RoomRequestDTO roomRequestDTO) throws ResourceNotFoundException;
     void deleteRoom(Long id) throws ResourceNotFoundException;
     List<RoomResponseDTO> getAllRooms(int pageNo, int pageSize) throws ResourceNotFoundException;
+    CursorPage<RoomResponseDTO> getRoomsAfter(Long after, int limit);
+    CursorPage<RoomResponseDTO> getAvailableRoomsAfter(Long after, int limit);
+    List<RoomResponseDTO> getRoomsByIds(List<Long> ids);
+    List<RoomResponseDTO> searchAvailableRooms(LocalDate checkIn, LocalDate checkOut, RoomType roomType,
+                                               Double minPrice, Double maxPrice);
 }
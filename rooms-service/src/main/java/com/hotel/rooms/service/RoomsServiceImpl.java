@@ -1,33 +1,57 @@
 package com.hotel.rooms.service;
 
+import com.hotel.common.dto.CursorPage;
 import com.hotel.common.exception.ResourceNotFoundException;
+import com.hotel.common.event.ResourceChangedEvent;
 import com.hotel.common.exception.RoomAlreadyExistsException;
 import com.hotel.rooms.dto.RoomRequestDTO;
 import com.hotel.rooms.dto.RoomResponseDTO;
+import com.hotel.rooms.index.RoomNumberIndex;
 import com.hotel.rooms.model.Room;
 import com.hotel.rooms.model.RoomStatus;
+import com.hotel.rooms.model.RoomType;
 import com.hotel.rooms.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class RoomsServiceImpl implements RoomsService {
 
     private final RoomRepository roomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestTemplate restTemplate;
+    private final RoomNumberIndex roomNumberIndex;
 
-    public RoomsServiceImpl(RoomRepository roomRepository) {
+    @Value("${bookings.service.url:http://localhost:8084}")
+    private String bookingsServiceUrl;
+
+    public RoomsServiceImpl(RoomRepository roomRepository, ApplicationEventPublisher eventPublisher,
+                            RestTemplate restTemplate, RoomNumberIndex roomNumberIndex) {
         this.roomRepository = roomRepository;
+        this.eventPublisher = eventPublisher;
+        this.restTemplate = restTemplate;
+        this.roomNumberIndex = roomNumberIndex;
     }
 
     @Override
     public RoomResponseDTO addRoom(RoomRequestDTO roomRequestDTO) throws RoomAlreadyExistsException {
-        if (roomRepository.existsByRoomNumber(roomRequestDTO.getRoomNumber())) {
+        if (roomNumberIndex.exists(roomRequestDTO.getRoomNumber())) {
             throw new RoomAlreadyExistsException("Room " + roomRequestDTO.getRoomNumber() + " already exists!");
         }
 
@@ -37,7 +61,14 @@ public class RoomsServiceImpl implements RoomsService {
         room.setPrice(roomRequestDTO.getPrice());
         room.setStatus(RoomStatus.AVAILABLE);
 
-        Room savedRoom = roomRepository.save(room);
+        Room savedRoom;
+        try {
+            savedRoom = roomRepository.save(room);
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another instance
+            throw new RoomAlreadyExistsException("Room " + roomRequestDTO.getRoomNumber() + " already exists!");
+        }
+        roomNumberIndex.put(savedRoom);
         return mapToDTO(savedRoom);
     }
 
@@ -66,7 +97,9 @@ public class RoomsServiceImpl implements RoomsService {
         room.setType(roomRequestDTO.getRoomType());
         room.setPrice(roomRequestDTO.getPrice());
 
-        return mapToDTO(roomRepository.save(room));
+        RoomResponseDTO updatedRoom = mapToDTO(roomRepository.save(room));
+        eventPublisher.publishEvent(new ResourceChangedEvent(ResourceChangedEvent.ROOM, id, ResourceChangedEvent.UPDATED));
+        return updatedRoom;
     }
 
     @Override
@@ -79,6 +112,8 @@ public class RoomsServiceImpl implements RoomsService {
         } catch (Exception e) {
             throw new RuntimeException("Cannot delete room. It might have active bookings.");
         }
+        roomNumberIndex.remove(id);
+        eventPublisher.publishEvent(new ResourceChangedEvent(ResourceChangedEvent.ROOM, id, ResourceChangedEvent.DELETED));
     }
 
     @Override
@@ -91,6 +126,50 @@ public class RoomsServiceImpl implements RoomsService {
                 .collect(Collectors.toList());
     }
 
+    // Keyset pagination by ascending id: no offset scan and no count query
+    @Override
+    public CursorPage<RoomResponseDTO> getRoomsAfter(Long after, int limit) {
+        Slice<Room> slice = roomRepository.findByIdGreaterThan(
+                after != null ? after : 0L, CursorPage.request(limit, "id", Sort.Direction.ASC));
+        return CursorPage.of(slice, this::mapToDTO, Room::getId);
+    }
+
+    @Override
+    public CursorPage<RoomResponseDTO> getAvailableRoomsAfter(Long after, int limit) {
+        Slice<Room> slice = roomRepository.findByStatusAndIdGreaterThan(RoomStatus.AVAILABLE,
+                after != null ? after : 0L, CursorPage.request(limit, "id", Sort.Direction.ASC));
+        return CursorPage.of(slice, this::mapToDTO, Room::getId);
+    }
+
+    @Override
+    public List<RoomResponseDTO> getRoomsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return roomRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<RoomResponseDTO> searchAvailableRooms(LocalDate checkIn, LocalDate checkOut, RoomType roomType,
+                                                      Double minPrice, Double maxPrice) {
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+
+        // Occupancy comes from bookings-service's per-night bitmap
+        Long[] occupied = restTemplate.getForObject(
+                bookingsServiceUrl + "/internal/availability/occupied-rooms?checkIn={checkIn}&checkOut={checkOut}",
+                Long[].class, checkIn, checkOut);
+        Set<Long> occupiedRoomIds = occupied != null ? new HashSet<>(Arrays.asList(occupied)) : Set.of();
+
+        return roomRepository.findBookableRooms(RoomStatus.MAINTENANCE, roomType, minPrice, maxPrice).stream()
+                .filter(room -> !occupiedRoomIds.contains(room.getId()))
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
     private RoomResponseDTO mapToDTO(Room room) {
         RoomResponseDTO dto = new RoomResponseDTO();
         dto.setId(room.getId());
@@ -0,0 +1,97 @@
+package com.hotel.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * The HMAC over the identity headers the api-gateway forwards and services send each other. The
+ * canonical string covers user, user id, roles, issue time, HTTP method and raw path, so a captured
+ * set cannot be replayed against another endpoint, and stale headers are refused so it cannot be
+ * replayed for long. The shared secret has no default: construction fails if it is unset, too short
+ * or still the old placeholder.
+ */
+public final class IdentitySignature {
+
+    public static final String USER_HEADER = "X-Auth-User";
+    public static final String USER_ID_HEADER = "X-Auth-User-Id";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String ISSUED_AT_HEADER = "X-Auth-Issued-At";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    public static final String SERVICE_ROLE = "ROLE_SERVICE";
+
+    private static final String PLACEHOLDER_SECRET = "change-me-gateway-identity-secret";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final long maxAgeMs;
+
+    public IdentitySignature(String secret, long maxAgeMs) {
+        if (secret == null || secret.isBlank() || PLACEHOLDER_SECRET.equals(secret)
+                || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("gateway.identity.secret must be set to a random value of at least "
+                    + MIN_SECRET_BYTES + " bytes (GATEWAY_IDENTITY_SECRET)");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * Signs identity headers for a request to {@code path} (raw, without the query string).
+     */
+    public String sign(String username, String userId, String roles, long issuedAt, String method, String path) {
+        String payload = username + "\n" + userId + "\n" + roles + "\n" + issuedAt + "\n" + method + "\n" + path;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign identity headers", e);
+        }
+    }
+
+    /**
+     * Returns the identity if the header values (any of which may be null) are complete, fresh and
+     * signed for this method and path, otherwise null.
+     */
+    public Identity verify(String username, String userId, String roles, String issuedAtHeader, String signature,
+                           String method, String path) {
+        if (signature == null || username == null || username.isEmpty() || issuedAtHeader == null) {
+            return null;
+        }
+
+        long issuedAt;
+        try {
+            issuedAt = Long.parseLong(issuedAtHeader);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (Math.abs(System.currentTimeMillis() - issuedAt) > maxAgeMs) {
+            return null;
+        }
+
+        userId = valueOrEmpty(userId);
+        roles = valueOrEmpty(roles);
+        String expected = sign(username, userId, roles, issuedAt, method, path);
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8))) {
+            return null;
+        }
+
+        List<String> roleList = roles.isEmpty() ? List.of() : Arrays.asList(roles.split(","));
+        return new Identity(userId.isEmpty() ? null : Long.valueOf(userId), username, roleList);
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    public record Identity(Long userId, String username, List<String> roles) {
+    }
+}
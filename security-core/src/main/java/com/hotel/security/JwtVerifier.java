@@ -0,0 +1,125 @@
+package com.hotel.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Verifies access tokens issued by auth-service. The signature and expiry are checked once per token
+ * and the claims cached until it expires; revocation is checked on every call.
+ */
+public class JwtVerifier {
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final RevocationList revocationList;
+
+    // Verified claims keyed by the token's SHA-256, each entry expiring with its token
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtVerifier(String secret, long verifiedCacheMaxSize, RevocationList revocationList) {
+        this.signingKey = buildSigningKey(secret);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.revocationList = revocationList;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String hash, Claims claims, long currentTime) {
+                        return untilExpiry(claims).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // auth-service signs new tokens with the same key
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * Returns the verified claims. Throws a JwtException if the token is malformed, tampered with, expired or revoked.
+     */
+    public Claims verify(String token) {
+        String hash = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(hash);
+        if (claims == null) {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(hash, claims);
+        }
+        if (revocationList.isRevoked(claims.getId(), userId(claims), claims.getIssuedAt())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    public static List<String> roles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+
+    public static Long userId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    private static Duration untilExpiry(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ofMinutes(5);
+        }
+        long remaining = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remaining, 0));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Key buildSigningKey(String secret) {
+        byte[] keyBytes;
+        try {
+            keyBytes = Decoders.BASE64.decode(secret);
+        } catch (IllegalArgumentException ex) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        return Keys.hmacShaKeyFor(keyBytes);
+    }
+}
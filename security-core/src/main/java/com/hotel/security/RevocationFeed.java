@@ -0,0 +1,17 @@
+package com.hotel.security;
+
+import java.util.List;
+
+/**
+ * Response of auth-service's revocation pull endpoint. {@code version} is the id to send as
+ * {@code since} on the next pull.
+ */
+public record RevocationFeed(long version, List<Entry> entries) {
+
+    /**
+     * A single revoked token when {@code tokenId} is set, otherwise every token of {@code userId}
+     * issued in a second before {@code revokedAt}'s (iat has second precision). Both kinds can be dropped after {@code expiresAt}.
+     */
+    public record Entry(String tokenId, Long userId, long revokedAt, long expiresAt) {
+    }
+}
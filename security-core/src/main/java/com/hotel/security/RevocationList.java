@@ -0,0 +1,211 @@
+package com.hotel.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked access tokens, checked on every token verification without a database hit. A bloom filter
+ * answers the common "not revoked" case; hits are confirmed against the exact token id set or the
+ * per-user cutoff. Entries are pulled from auth-service's {@code /internal/revocations} feed and
+ * dropped once every token they cover has expired. Subclasses supply the HTTP call and hook
+ * {@link #start()}/{@link #stop()} into their container's lifecycle.
+ */
+public abstract class RevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationList.class);
+
+    private static final int MIN_FILTER_BITS = 1 << 16;
+
+    private final String syncUrl;
+    private final long syncIntervalMs;
+
+    // Token id -> expiry (epoch ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, UserCutoff> userCutoffs = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(MIN_FILTER_BITS);
+
+    // Only touched by the sync thread
+    private long version;
+    private boolean syncFailing;
+    private ScheduledExecutorService scheduler;
+
+    protected RevocationList(String syncUrl, long syncIntervalMs) {
+        this.syncUrl = syncUrl;
+        this.syncIntervalMs = syncIntervalMs;
+    }
+
+    /**
+     * Pulls feed entries after {@code since} from {@link #syncUrl()}; any RuntimeException counts as a failed sync.
+     */
+    protected abstract RevocationFeed fetch(long since);
+
+    protected String syncUrl() {
+        return syncUrl;
+    }
+
+    protected long syncIntervalMs() {
+        return syncIntervalMs;
+    }
+
+    public void start() {
+        if (syncUrl.isBlank()) {
+            logger.info("Token revocation sync is disabled (jwt.revocation.sync-url is not set)");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync, 0, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isRevoked(String tokenId, Long userId, Date issuedAt) {
+        BloomFilter current = filter;
+        if (tokenId != null && current.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (userId != null && issuedAt != null && current.mightContain(userKey(userId))) {
+            UserCutoff cutoff = userCutoffs.get(userId);
+            // iat only has second precision, so compare whole seconds: a token re-issued in the cutoff's own
+            // second (a login right after revokeUser) stays valid, at the cost of one issued just before it
+            return cutoff != null && issuedAt.getTime() / 1000 < cutoff.revokedAt() / 1000;
+        }
+        return false;
+    }
+
+    /**
+     * Adds entries from the feed; auth-service also calls this directly so its own revocations apply at once.
+     */
+    public synchronized void apply(List<RevocationFeed.Entry> entries) {
+        for (RevocationFeed.Entry entry : entries) {
+            // Exact sets first, so a reader that sees the filter bits always finds the entry
+            if (entry.tokenId() != null) {
+                revokedTokens.put(entry.tokenId(), entry.expiresAt());
+                filter.add(entry.tokenId());
+            } else if (entry.userId() != null) {
+                userCutoffs.merge(entry.userId(), new UserCutoff(entry.revokedAt(), entry.expiresAt()),
+                        (existing, added) -> added.revokedAt() >= existing.revokedAt() ? added : existing);
+                filter.add(userKey(entry.userId()));
+            }
+        }
+        if (revokedTokens.size() + userCutoffs.size() > filter.capacity()) {
+            rebuildFilter();
+        }
+    }
+
+    private void sync() {
+        try {
+            RevocationFeed feed = fetch(version);
+            if (feed != null) {
+                apply(feed.entries());
+                version = Math.max(version, feed.version());
+            }
+            if (syncFailing) {
+                logger.info("Token revocation sync from {} recovered", syncUrl);
+                syncFailing = false;
+            }
+        } catch (RuntimeException ex) {
+            if (!syncFailing) {
+                logger.warn("Token revocation sync from {} failed: {}", syncUrl, ex.getMessage());
+                syncFailing = true;
+            }
+        }
+        prune(System.currentTimeMillis());
+    }
+
+    private synchronized void prune(long now) {
+        boolean removed = revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        removed |= userCutoffs.values().removeIf(cutoff -> cutoff.expiresAt() < now);
+        if (removed) {
+            rebuildFilter();
+        }
+    }
+
+    // Bloom filters cannot drop keys, so pruning and growth swap in a freshly built one
+    private void rebuildFilter() {
+        int keys = revokedTokens.size() + userCutoffs.size();
+        int bits = MIN_FILTER_BITS;
+        while (bits / BloomFilter.BITS_PER_KEY < keys * 2 && bits < (1 << 30)) {
+            bits <<= 1;
+        }
+        BloomFilter rebuilt = new BloomFilter(bits);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        userCutoffs.keySet().forEach(userId -> rebuilt.add(userKey(userId)));
+        filter = rebuilt;
+    }
+
+    private static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    private record UserCutoff(long revokedAt, long expiresAt) {
+    }
+
+    private static final class BloomFilter {
+
+        static final int BITS_PER_KEY = 16;
+        private static final int HASHES = 4;
+
+        private final AtomicLongArray words;
+        private final int mask;
+
+        BloomFilter(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        int capacity() {
+            return (mask + 1) / BITS_PER_KEY;
+        }
+
+        void add(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                words.getAndAccumulate(bit >>> 6, 1L << bit, (word, set) -> word | set);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdentitySignatureTest {
+
+    private static final String SECRET = "test-identity-secret-0123456789abcdef";
+    private static final String PATH = "/internal/availability/occupied-rooms";
+
+    private final IdentitySignature signature = new IdentitySignature(SECRET, 30_000);
+
+    @Test
+    void signedHeadersVerifyForTheSameMethodAndPath() {
+        long issuedAt = System.currentTimeMillis();
+        String signed = signature.sign("manager", "1", "ROLE_MANAGER,ROLE_STAFF", issuedAt, "GET", PATH);
+
+        IdentitySignature.Identity identity = signature.verify("manager", "1", "ROLE_MANAGER,ROLE_STAFF",
+                String.valueOf(issuedAt), signed, "GET", PATH);
+
+        assertEquals(new IdentitySignature.Identity(1L, "manager", List.of("ROLE_MANAGER", "ROLE_STAFF")), identity);
+    }
+
+    @Test
+    void signatureDoesNotCarryOverToAnotherMethodPathOrAge() {
+        long issuedAt = System.currentTimeMillis();
+        String signed = signature.sign("service:rooms-service", "", IdentitySignature.SERVICE_ROLE, issuedAt, "GET", PATH);
+        String roles = IdentitySignature.SERVICE_ROLE;
+
+        assertNull(signature.verify("service:rooms-service", "", roles, String.valueOf(issuedAt), signed, "POST", PATH));
+        assertNull(signature.verify("service:rooms-service", "", roles, String.valueOf(issuedAt), signed, "GET", "/internal/other"));
+        long stale = issuedAt - 60_000;
+        assertNull(signature.verify("service:rooms-service", "", roles, String.valueOf(stale),
+                signature.sign("service:rooms-service", "", roles, stale, "GET", PATH), "GET", PATH));
+    }
+
+    @Test
+    void placeholderOrShortSecretIsRefused() {
+        assertThrows(IllegalStateException.class, () -> new IdentitySignature("change-me-gateway-identity-secret", 30_000));
+        assertThrows(IllegalStateException.class, () -> new IdentitySignature("too-short", 30_000));
+        assertThrows(IllegalStateException.class, () -> new IdentitySignature(null, 30_000));
+    }
+}
@@ -0,0 +1,65 @@
+package com.hotel.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationListTest {
+
+    private static final String JWT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final RevocationList revocationList = new RevocationList("", 5000) {
+        @Override
+        protected RevocationFeed fetch(long since) {
+            return null;
+        }
+    };
+
+    @Test
+    void userCutoffRevokesEarlierSecondsOnly() {
+        long revokedAt = 1_700_000_000_500L;
+        revocationList.apply(List.of(new RevocationFeed.Entry(null, 7L, revokedAt, revokedAt + 900_000)));
+
+        assertTrue(revocationList.isRevoked("a", 7L, new Date(1_699_999_999_000L)));
+        // Issued in the cutoff's own second: iat is truncated, so it may just as well be a fresh login
+        assertFalse(revocationList.isRevoked("b", 7L, new Date(1_700_000_000_000L)));
+        assertFalse(revocationList.isRevoked("c", 8L, new Date(1_699_999_999_000L)));
+    }
+
+    @Test
+    void loginRightAfterRevokingEverySessionIsAccepted() {
+        JwtVerifier verifier = new JwtVerifier(JWT_SECRET, 100, revocationList);
+        String before = token(verifier, new Date(System.currentTimeMillis() - 2000));
+
+        long revokedAt = System.currentTimeMillis();
+        revocationList.apply(List.of(new RevocationFeed.Entry(null, 7L, revokedAt, revokedAt + 900_000)));
+        String relogin = token(verifier, new Date(revokedAt));
+
+        assertThrows(JwtException.class, () -> verifier.verify(before));
+        Claims claims = verifier.verify(relogin);
+        assertEquals(7L, JwtVerifier.userId(claims));
+    }
+
+    private static String token(JwtVerifier verifier, Date issuedAt) {
+        return Jwts.builder()
+                .setClaims(Map.of(JwtVerifier.USER_ID_CLAIM, 7L))
+                .setId(UUID.randomUUID().toString())
+                .setSubject("staff")
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + 900_000))
+                .signWith(verifier.signingKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}